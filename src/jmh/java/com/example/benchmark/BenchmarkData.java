@@ -0,0 +1,51 @@
+package com.example.benchmark;
+
+import com.example.model.Player;
+import com.example.model.PlayerStats;
+import com.example.service.PlayerService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Shared fixtures: deterministic players with realistic, seeded stats
+final class BenchmarkData {
+    
+    private BenchmarkData() {
+    }
+    
+    static Player player(int i) {
+        Player player = new Player(name(i), email(i));
+        player.setId("player-" + i);
+        return player;
+    }
+    
+    static String name(int i) {
+        return "Player " + i;
+    }
+    
+    static String email(int i) {
+        return "player" + i + "@example.com";
+    }
+    
+    // Register count players with random stats and return them in creation order
+    static List<Player> populate(PlayerService playerService, int count, long seed) {
+        Random random = new Random(seed);
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Player player = playerService.createPlayer(name(i), email(i));
+            player.setStats(randomStats(random));
+            playerService.refreshRankings(player);
+            players.add(player);
+        }
+        return players;
+    }
+    
+    static PlayerStats randomStats(Random random) {
+        int played = random.nextInt(200);
+        int won = played == 0 ? 0 : random.nextInt(played + 1);
+        int drawn = played - won == 0 ? 0 : random.nextInt(played - won + 1);
+        int moves = played * (3 + random.nextInt(3));
+        return new PlayerStats(played, won, played - won - drawn, drawn, moves, 0.0, 0.0, 0.0);
+    }
+}
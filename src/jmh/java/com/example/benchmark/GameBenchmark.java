@@ -0,0 +1,82 @@
+package com.example.benchmark;
+
+import com.example.model.Game;
+import com.example.model.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of the game engine: move validation, the bitboard update and the
+ * incremental win check, measured by replaying a recorded game from start to finish.
+ * Reports games per second and, through the auxiliary counter, moves per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+    
+    // Board size and win length as "size:winLength"
+    @Param({"3:3", "15:5", "19:5"})
+    public String board;
+    
+    private int size;
+    private int winLength;
+    private Player[] players;
+    private int[] positions;
+    
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Moves {
+        public long moves;
+    }
+    
+    @Setup
+    public void setUp() {
+        String[] parts = board.split(":");
+        size = Integer.parseInt(parts[0]);
+        winLength = Integer.parseInt(parts[1]);
+        players = new Player[] {BenchmarkData.player(0), BenchmarkData.player(1)};
+        
+        // Record a seeded random playout to its end; every invocation replays it
+        List<Integer> cells = new ArrayList<>();
+        for (int i = 0; i < size * size; i++) {
+            cells.add(i);
+        }
+        Collections.shuffle(cells, new Random(42));
+        Game game = newGame();
+        int moves = 0;
+        while (game.getStatus() == Game.GameStatus.ACTIVE) {
+            game.makeMove(players[moves % 2], cells.get(moves));
+            moves++;
+        }
+        positions = new int[moves];
+        for (int i = 0; i < moves; i++) {
+            positions[i] = cells.get(i);
+        }
+    }
+    
+    @Benchmark
+    public Game playGame(Moves counter) {
+        Game game = newGame();
+        for (int i = 0; i < positions.length; i++) {
+            game.makeMove(players[i & 1], positions[i]);
+        }
+        counter.moves += positions.length;
+        return game;
+    }
+    
+    private Game newGame() {
+        Game game = new Game("bench", size, size, winLength);
+        game.addPlayer(players[0]);
+        game.addPlayer(players[1]);
+        return game;
+    }
+}
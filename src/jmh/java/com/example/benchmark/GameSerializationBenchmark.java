@@ -0,0 +1,78 @@
+package com.example.benchmark;
+
+import com.example.model.Game;
+import com.example.model.GameSummary;
+import com.example.model.Player;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing a list response of finished 3x3 games as whole {@code Game}
+ * entities, as {@link GameSummary} projections and with field selection. Response sizes
+ * are printed once per trial ("bytes per response").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameSerializationBenchmark {
+    
+    // X wins along the top row in five moves
+    private static final int[] POSITIONS = {0, 3, 1, 4, 2};
+    
+    @Param({"100", "1000"})
+    public int gameCount;
+    
+    // Configured like Spring Boot's mapper (java.time support, ISO dates)
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    
+    private List<Game> games;
+    private Set<String> fields;
+    
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        games = new ArrayList<>(gameCount);
+        for (int i = 0; i < gameCount; i++) {
+            Player x = BenchmarkData.player(2 * i);
+            Player o = BenchmarkData.player(2 * i + 1);
+            Game game = new Game("Game " + i);
+            game.setId("game-" + i);
+            game.addPlayer(x);
+            game.addPlayer(o);
+            for (int m = 0; m < POSITIONS.length; m++) {
+                game.makeMove((m & 1) == 0 ? x : o, POSITIONS[m]);
+            }
+            games.add(game);
+        }
+        fields = GameSummary.parseFields("id,status,winnerId");
+        
+        System.out.printf("%nBytes per response (%d games): full=%d, summary=%d, fields=%d%n", gameCount,
+            fullGames().length, summaries().length, selectedFields().length);
+    }
+    
+    @Benchmark
+    public byte[] fullGames() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(games);
+    }
+    
+    @Benchmark
+    public byte[] summaries() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(games.stream().map(GameSummary::of).toList());
+    }
+    
+    @Benchmark
+    public byte[] selectedFields() throws JsonProcessingException {
+        List<Map<String, Object>> views = games.stream().map(game -> GameSummary.select(game, fields)).toList();
+        return mapper.writeValueAsBytes(views);
+    }
+}
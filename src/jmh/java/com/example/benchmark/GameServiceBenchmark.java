@@ -0,0 +1,95 @@
+package com.example.benchmark;
+
+import com.example.model.Game;
+import com.example.model.Player;
+import com.example.service.GameService;
+import com.example.service.PlayerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameService} under multi-threaded contention. Each operation creates a game,
+ * seats two random players, plays it to a win and deletes it, so threads contend on the
+ * game map and status indexes, the per-game locks, shared players' stats and the
+ * leaderboards. Raise the thread count with {@code -t}.
+ *
+ * {@code metrics=prometheus} records the service timers, counters and gauges into a
+ * Prometheus registry with the histograms configured as in application.properties;
+ * {@code none} uses the no-op global registry, to show the instrumentation cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class GameServiceBenchmark {
+    
+    // X wins along the top row in five moves
+    private static final int[] POSITIONS = {0, 3, 1, 4, 2};
+    
+    // Fewer players means more threads updating the same players at once
+    @Param({"16", "10000"})
+    public int playerCount;
+    
+    @Param({"none", "prometheus"})
+    public String metrics;
+    
+    private GameService gameService;
+    private List<Player> players;
+    
+    @Setup
+    public void setUp() {
+        MeterRegistry registry = metrics.equals("prometheus") ? prometheusRegistry() : Metrics.globalRegistry;
+        PlayerService playerService = new PlayerService(registry);
+        gameService = new GameService(playerService, Optional.empty(), registry);
+        players = BenchmarkData.populate(playerService, playerCount, 42);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public boolean playGame() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(playerCount);
+        int second = (first + 1 + random.nextInt(playerCount - 1)) % playerCount;
+        Player x = players.get(first);
+        Player o = players.get(second);
+        
+        Game game = gameService.createGame("bench");
+        gameService.addPlayerToGame(game.getId(), x);
+        gameService.addPlayerToGame(game.getId(), o);
+        for (int i = 0; i < POSITIONS.length; i++) {
+            gameService.makeMove(game.getId(), (i & 1) == 0 ? x.getId() : o.getId(), POSITIONS[i]);
+        }
+        return gameService.deleteGame(game.getId());
+    }
+    
+    private static MeterRegistry prometheusRegistry() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                    .percentilesHistogram(true)
+                    .minimumExpectedValue((double) Duration.ofNanos(1_000).toNanos()) // 1us
+                    .maximumExpectedValue((double) Duration.ofMillis(100).toNanos())
+                    .build()
+                    .merge(config);
+            }
+        });
+        return registry;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.benchmark;
+
+import com.example.model.Player;
+import com.example.service.PlayerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leaderboard reads and updates at 10k and 1M ranked players. Reads take the top 10;
+ * {@code recordGame} is the update path taken when a game ends.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+    
+    private static final int LIMIT = 10;
+    
+    @Param({"10000", "1000000"})
+    public int playerCount;
+    
+    private PlayerService playerService;
+    private List<Player> players;
+    
+    @Setup
+    public void setUp() {
+        playerService = new PlayerService();
+        players = BenchmarkData.populate(playerService, playerCount, 42);
+    }
+    
+    @Benchmark
+    public List<Player> getLeaderboard() {
+        return playerService.getLeaderboard(LIMIT);
+    }
+    
+    @Benchmark
+    public List<Player> getMostActivePlayers() {
+        return playerService.getMostActivePlayers(LIMIT);
+    }
+    
+    @Benchmark
+    public List<Player> getMostEfficientPlayers() {
+        return playerService.getMostEfficientPlayers(LIMIT);
+    }
+    
+    @Benchmark
+    public void recordGame() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Player player = players.get(random.nextInt(playerCount));
+        playerService.updatePlayerStats(player.getId(), random.nextBoolean(), false, 4);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.benchmark;
+
+import com.example.model.Game;
+import com.example.model.PerfectPlay;
+import com.example.model.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Practice-mode bots: whole 3x3 games where both sides play the perfect-play table's
+ * move through the game engine (games per second), and a single table lookup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PerfectPlayBenchmark {
+    
+    private Player[] players;
+    private int x;
+    private int o;
+    
+    @Setup
+    public void setUp() {
+        players = new Player[] {BenchmarkData.player(0), BenchmarkData.player(1)};
+        x = 0b000010001; // X in the center and a corner
+        o = 0b000000010;
+    }
+    
+    // Perfect play always ends in a draw
+    @Benchmark
+    public Game selfPlay() {
+        Game game = new Game("bench");
+        game.addPlayer(players[0]);
+        game.addPlayer(players[1]);
+        for (int i = 0; game.getStatus() == Game.GameStatus.ACTIVE; i++) {
+            game.makeMove(players[i & 1], game.perfectPlayHint().position());
+        }
+        return game;
+    }
+    
+    @Benchmark
+    public int bestMove() {
+        return PerfectPlay.bestMove(x, o);
+    }
+}
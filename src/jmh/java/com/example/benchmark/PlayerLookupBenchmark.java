@@ -0,0 +1,51 @@
+package com.example.benchmark;
+
+import com.example.model.Player;
+import com.example.service.PlayerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player lookups at 10k and 1M registered players: email lookup goes through the email
+ * index, name search through the trigram index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PlayerLookupBenchmark {
+    
+    @Param({"10000", "1000000"})
+    public int playerCount;
+    
+    private PlayerService playerService;
+    
+    @Setup
+    public void setUp() {
+        playerService = new PlayerService();
+        BenchmarkData.populate(playerService, playerCount, 42);
+    }
+    
+    @Benchmark
+    public Optional<Player> findByEmail() {
+        return playerService.findByEmail(BenchmarkData.email(ThreadLocalRandom.current().nextInt(playerCount)));
+    }
+    
+    // Matches a handful of players ("Player 1234", "Player 12345", ...)
+    @Benchmark
+    public List<Player> searchByName() {
+        return playerService.searchByName("player " + (1000 + ThreadLocalRandom.current().nextInt(9000)));
+    }
+    
+    // Matches about a tenth of the players; only the best 20 are returned
+    @Benchmark
+    public List<Player> searchByNameLimited() {
+        return playerService.searchByName("player " + (1 + ThreadLocalRandom.current().nextInt(9)), 20);
+    }
+}
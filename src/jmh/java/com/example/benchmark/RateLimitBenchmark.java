@@ -0,0 +1,47 @@
+package com.example.benchmark;
+
+import com.example.web.TokenBuckets;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a rate limit decision on the allowed path: one caller hitting its own bucket,
+ * and callers spread over 1M keys (a map lookup that mostly misses the CPU cache). The
+ * limit is high enough that every request is allowed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitBenchmark {
+    
+    private static final int KEY_COUNT = 1_000_000;
+    
+    private TokenBuckets buckets;
+    private String[] keys;
+    
+    @Setup
+    public void setUp() {
+        buckets = new TokenBuckets(Integer.MAX_VALUE / 2, 1e9);
+        keys = new String[KEY_COUNT];
+        long now = System.nanoTime();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+            buckets.tryAcquire(keys[i], now);
+        }
+    }
+    
+    @Benchmark
+    public long sameKey() {
+        return buckets.tryAcquire(keys[0], System.nanoTime());
+    }
+    
+    @Benchmark
+    public long manyKeys() {
+        return buckets.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEY_COUNT)], System.nanoTime());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.benchmark;
+
+import com.example.web.RequestLog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of logging one request: handing it to the {@link RequestLog} ring
+ * buffer (formatted and consumed on the writer thread), against formatting the same line
+ * on the request thread as a synchronous logging filter would, before any I/O.
+ *
+ * Each measurement is one batch of {@value #BATCH} requests into a fresh buffer large
+ * enough to hold them all, so every entry takes the accepted path even when the writer
+ * gets no CPU; milliseconds per batch read as nanoseconds per request.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = RequestLogBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = RequestLogBenchmark.BATCH)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestLogBenchmark {
+    
+    static final int BATCH = 1_000_000;
+    
+    private static final String URI = "/api/games/0b6a4f1e-6f5c-4f37-9a53-2f0d5c9e1a77/moves";
+    private static final String PLAYER_ID = "7c1e3c5a-2b8e-4d0f-b1a4-9e6f2d3c8b10";
+    
+    private RequestLog requestLog;
+    
+    @Setup(Level.Iteration)
+    public void setUp(Blackhole blackhole) {
+        requestLog = new RequestLog(2 * BATCH, blackhole::consume);
+    }
+    
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        requestLog.close();
+        if (requestLog.getDropped() > 0) {
+            throw new IllegalStateException("Dropped " + requestLog.getDropped() + " entries");
+        }
+    }
+    
+    @Benchmark
+    public boolean ringBuffer() {
+        return requestLog.record("POST", URI, PLAYER_ID, 200, 1_250_000);
+    }
+    
+    @Benchmark
+    public String formatInline() {
+        return "POST " + URI + " 200 " + String.format("%.2f", 1_250_000 / 1e6) + "ms game="
+            + URI.substring(11, URI.lastIndexOf('/')) + " player=" + PLAYER_ID;
+    }
+}
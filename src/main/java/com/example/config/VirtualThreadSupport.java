@@ -0,0 +1,42 @@
+package com.example.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports how requests are executed. With {@code spring.threads.virtual.enabled=true} on
+ * Java 21+, Spring Boot runs Tomcat request handling (and hence the controllers and
+ * services) on virtual threads. On older runtimes Boot silently ignores the property,
+ * so say so instead of leaving the platform-thread pool as a surprise.
+ *
+ * The move path takes no monitors ({@code synchronized}); games are locked with
+ * {@code ReentrantLock}s and the event log appends under one, so a virtual thread that
+ * blocks there unmounts instead of pinning its carrier.
+ */
+@Component
+public class VirtualThreadSupport {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadSupport.class);
+    
+    private final boolean requested;
+    
+    public VirtualThreadSupport(@Value("${spring.threads.virtual.enabled:false}") boolean requested) {
+        this.requested = requested;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        if (!requested) {
+            log.info("Handling requests on platform threads (spring.threads.virtual.enabled=false)");
+        } else if (Runtime.version().feature() >= 21) {
+            log.info("Handling requests on virtual threads");
+        } else {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                + "handling requests on platform threads (requires Java 21+)", Runtime.version().feature());
+        }
+    }
+}
@@ -1,66 +1,126 @@
 package com.example.controller;
 
 import com.example.model.Game;
+import com.example.model.GameSummary;
+import com.example.model.PerfectPlay;
 import com.example.model.Player;
+import com.example.service.GameEventBroadcaster;
 import com.example.service.GameService;
+import com.example.service.Page;
 import com.example.service.PlayerService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/games")
 public class GameController {
     
+    // Largest accepted batch of moves or joins
+    static final int MAX_BATCH_SIZE = 1000;
+    
+    // Page size when a cursor is given without a limit, and the largest page served
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    
     private final GameService gameService;
     private final PlayerService playerService;
+    private final GameEventBroadcaster eventBroadcaster;
+    private final NdjsonWriter ndjsonWriter;
+    private final ResponseCache responseCache;
     
     @Autowired
-    public GameController(GameService gameService, PlayerService playerService) {
+    public GameController(GameService gameService, PlayerService playerService,
+                          GameEventBroadcaster eventBroadcaster, NdjsonWriter ndjsonWriter,
+                          ResponseCache responseCache) {
         this.gameService = gameService;
         this.playerService = playerService;
+        this.eventBroadcaster = eventBroadcaster;
+        this.ndjsonWriter = ndjsonWriter;
+        this.responseCache = responseCache;
     }
     
     // Create a new game
     @PostMapping
     public ResponseEntity<Game> createGame(@Valid @RequestBody CreateGameRequest request) {
         try {
-            Game game = gameService.createGame(request.getName());
+            Game game = gameService.createGame(request.getName(),
+                request.getRows(), request.getCols(), request.getWinLength());
             return ResponseEntity.status(HttpStatus.CREATED).body(game);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
-    // Get game by ID
+    // Get game by ID (cached with an ETag once finished)
     @GetMapping("/{id}")
-    public ResponseEntity<Game> getGame(@PathVariable String id) {
+    public ResponseEntity<?> getGame(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<ResponseEntity<byte[]>> cached = responseCache.finishedGame(id, ResponseCache.View.GAME, ifNoneMatch);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
         return gameService.findById(id)
             .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
     
-    // Get all games
+    // Get all games (summaries by default; see listGames for views, pages and streaming)
     @GetMapping
-    public ResponseEntity<List<Game>> getAllGames(
-            @RequestParam(required = false) String status) {
-        List<Game> games;
-        if (status != null) {
-            try {
-                Game.GameStatus gameStatus = Game.GameStatus.valueOf(status.toUpperCase());
-                games = gameService.findByStatus(gameStatus);
-            } catch (IllegalArgumentException e) {
-                return ResponseEntity.badRequest().build();
-            }
-        } else {
-            games = gameService.findAll();
+    public ResponseEntity<?> getAllGames(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (status == null) {
+            return listGames(GameService.GameQuery.all(), gameService::findAll,
+                view, fields, cursor, limit);
+        }
+        Game.GameStatus gameStatus;
+        try {
+            gameStatus = Game.GameStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return listGames(GameService.GameQuery.withStatus(gameStatus), () -> gameService.findByStatus(gameStatus),
+            view, fields, cursor, limit);
+    }
+    
+    // Stream all games (or those with a status) as NDJSON, in (createdAt, id) order
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllGames(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields) {
+        if (status == null) {
+            return streamGames(GameService.GameQuery.all(), view, fields);
+        }
+        try {
+            Game.GameStatus gameStatus = Game.GameStatus.valueOf(status.toUpperCase());
+            return streamGames(GameService.GameQuery.withStatus(gameStatus), view, fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(games);
     }
     
     // Add player to game
@@ -92,6 +152,24 @@ public class GameController {
         }
     }
     
+    // Make many moves in one request, applied per game in request order
+    @PostMapping("/moves/batch")
+    public ResponseEntity<BatchResponse> makeMoves(@Valid @RequestBody BatchMoveRequest request) {
+        List<GameService.MoveCommand> moves = request.getMoves().stream()
+            .map(move -> new GameService.MoveCommand(move.getGameId(), move.getPlayerId(), move.getPosition()))
+            .toList();
+        return ResponseEntity.ok(new BatchResponse(gameService.makeMoves(moves)));
+    }
+    
+    // Add many players to games in one request, applied per game in request order
+    @PostMapping("/players/batch")
+    public ResponseEntity<BatchResponse> addPlayersToGames(@Valid @RequestBody BatchJoinRequest request) {
+        List<GameService.JoinCommand> joins = request.getJoins().stream()
+            .map(join -> new GameService.JoinCommand(join.getGameId(), join.getPlayerId()))
+            .toList();
+        return ResponseEntity.ok(new BatchResponse(gameService.addPlayersToGames(joins)));
+    }
+    
     // Get game status
     @GetMapping("/{id}/status")
     public ResponseEntity<Map<String, String>> getGameStatus(@PathVariable String id) {
@@ -103,9 +181,24 @@ public class GameController {
         }
     }
     
-    // Get game board
+    // Stream game events (server-sent events): the current state first, then joins,
+    // moves and game over as they happen
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(@PathVariable String id) {
+        return eventBroadcaster.subscribe(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Get game board (cached with an ETag once finished)
     @GetMapping("/{id}/board")
-    public ResponseEntity<List<String>> getGameBoard(@PathVariable String id) {
+    public ResponseEntity<?> getGameBoard(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<ResponseEntity<byte[]>> cached = responseCache.finishedGame(id, ResponseCache.View.BOARD, ifNoneMatch);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
         try {
             List<String> board = gameService.getGameBoard(id);
             return ResponseEntity.ok(board);
@@ -114,6 +207,34 @@ public class GameController {
         }
     }
     
+    // Best move for the player to move (3x3 games only), from the perfect-play table
+    @GetMapping("/{id}/hint")
+    public ResponseEntity<PerfectPlay.Hint> getHint(@PathVariable String id) {
+        if (gameService.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(gameService.getHint(id));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Let the computer make the perfect-play move for a player (practice mode)
+    @PostMapping("/{id}/ai-move")
+    public ResponseEntity<PerfectPlay.Hint> makeAiMove(
+            @PathVariable String id,
+            @Valid @RequestBody AiMoveRequest request) {
+        if (gameService.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(gameService.makeAiMove(id, request.getPlayerId()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     // Get current player
     @GetMapping("/{id}/current-player")
     public ResponseEntity<Player> getCurrentPlayer(@PathVariable String id) {
@@ -126,9 +247,15 @@ public class GameController {
         }
     }
     
-    // Get winner
+    // Get winner (cached with an ETag once finished)
     @GetMapping("/{id}/winner")
-    public ResponseEntity<Player> getWinner(@PathVariable String id) {
+    public ResponseEntity<?> getWinner(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<ResponseEntity<byte[]>> cached = responseCache.finishedGame(id, ResponseCache.View.WINNER, ifNoneMatch);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
         try {
             return gameService.getWinner(id)
                 .map(ResponseEntity::ok)
@@ -138,11 +265,27 @@ public class GameController {
         }
     }
     
-    // Get game moves
+    // Get game moves (the whole list is cached with an ETag once the game has finished)
     @GetMapping("/{id}/moves")
-    public ResponseEntity<List<com.example.model.Move>> getGameMoves(@PathVariable String id) {
+    public ResponseEntity<?> getGameMoves(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (offset < 0 || (limit != null && limit <= 0)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (offset == 0 && limit == null) {
+            Optional<ResponseEntity<byte[]>> cached = responseCache.finishedGame(id, ResponseCache.View.MOVES,
+                ifNoneMatch);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
         try {
-            List<com.example.model.Move> moves = gameService.getGameMoves(id);
+            List<com.example.model.Move> moves = limit == null && offset == 0
+                ? gameService.getGameMoves(id)
+                : gameService.getGameMoves(id, offset, limit == null ? Integer.MAX_VALUE : limit);
             return ResponseEntity.ok(moves);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
@@ -158,34 +301,66 @@ public class GameController {
     
     // Get active games
     @GetMapping("/active")
-    public ResponseEntity<List<Game>> getActiveGames() {
-        List<Game> games = gameService.getActiveGames();
-        return ResponseEntity.ok(games);
+    public ResponseEntity<?> getActiveGames(
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return listGames(GameService.GameQuery.withStatus(Game.GameStatus.ACTIVE),
+            gameService::getActiveGames, view, fields, cursor, limit);
     }
     
     // Get waiting games
     @GetMapping("/waiting")
-    public ResponseEntity<List<Game>> getWaitingGames() {
-        List<Game> games = gameService.getWaitingGames();
-        return ResponseEntity.ok(games);
+    public ResponseEntity<?> getWaitingGames(
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return listGames(GameService.GameQuery.withStatus(Game.GameStatus.WAITING),
+            gameService::getWaitingGames, view, fields, cursor, limit);
     }
     
     // Get completed games
     @GetMapping("/completed")
-    public ResponseEntity<List<Game>> getCompletedGames() {
-        List<Game> games = gameService.getCompletedGames();
-        return ResponseEntity.ok(games);
+    public ResponseEntity<?> getCompletedGames(
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return listGames(
+            GameService.GameQuery.withStatus(Game.GameStatus.COMPLETED, Game.GameStatus.DRAW),
+            gameService::getCompletedGames, view, fields, cursor, limit);
+    }
+    
+    // Stream completed games as NDJSON
+    @GetMapping(path = "/completed", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamCompletedGames(
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields) {
+        return streamGames(GameService.GameQuery.withStatus(Game.GameStatus.COMPLETED, Game.GameStatus.DRAW),
+            view, fields);
     }
     
     // Get games by player
     @GetMapping("/player/{playerId}")
-    public ResponseEntity<List<Game>> getGamesByPlayer(@PathVariable String playerId) {
-        try {
-            List<Game> games = gameService.getGamesByPlayer(playerId);
-            return ResponseEntity.ok(games);
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<?> getGamesByPlayer(
+            @PathVariable String playerId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return listGames(GameService.GameQuery.byPlayer(playerId), () -> gameService.getGamesByPlayer(playerId),
+            view, fields, cursor, limit);
+    }
+    
+    // Stream a player's games as NDJSON
+    @GetMapping(path = "/player/{playerId}", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamGamesByPlayer(
+            @PathVariable String playerId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields) {
+        return streamGames(GameService.GameQuery.byPlayer(playerId), view, fields);
     }
     
     // Get total game count
@@ -195,10 +370,77 @@ public class GameController {
         return ResponseEntity.ok(Map.of("count", count));
     }
     
+    // Serve a game listing: one page in (createdAt, id) order when a cursor or limit is
+    // given, as {"items": [...], "nextCursor": ...}; otherwise the whole list in one array.
+    // Each game is shaped by view/fields (see gameView); bad parameters give 400.
+    private ResponseEntity<?> listGames(GameService.GameQuery query, Supplier<List<Game>> all,
+                                        String view, String fields, String cursor, Integer limit) {
+        Function<Game, ?> shape;
+        try {
+            shape = gameView(view, fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok(all.get().stream().map(shape).toList());
+        }
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Page<Game> page = gameService.findPage(query, cursor, size);
+            return ResponseEntity.ok(page.map(shape));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // Malformed cursor
+        }
+    }
+    
+    // Stream every game matching a query as NDJSON without collecting them first
+    private ResponseEntity<StreamingResponseBody> streamGames(GameService.GameQuery query,
+                                                             String view, String fields) {
+        try {
+            return ndjsonWriter.stream(gameService.iterate(query), gameView(view, fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // How each game in a listing is shaped: a compact summary by default, the whole game
+    // with view=full, or only the named fields with fields=a,b,c. Throws
+    // IllegalArgumentException on an unknown view or field.
+    private static Function<Game, ?> gameView(String view, String fields) {
+        if (fields != null) {
+            Set<String> selected = GameSummary.parseFields(fields);
+            return game -> GameSummary.select(game, selected);
+        }
+        if (view == null || view.equals("summary")) {
+            return GameSummary::of;
+        }
+        if (view.equals("full")) {
+            return Function.identity();
+        }
+        throw new IllegalArgumentException("Unknown view: " + view);
+    }
+    
     // Request/Response DTOs
     public static class CreateGameRequest {
+        @Size(max = Game.MAX_NAME_LENGTH, message = "Game name must be at most " + Game.MAX_NAME_LENGTH + " characters")
         private String name;
         
+        @Min(value = Game.MIN_SIZE, message = "Board must have at least " + Game.MIN_SIZE + " rows")
+        @Max(value = Game.MAX_SIZE, message = "Board must have at most " + Game.MAX_SIZE + " rows")
+        private int rows = Game.DEFAULT_SIZE;
+        
+        @Min(value = Game.MIN_SIZE, message = "Board must have at least " + Game.MIN_SIZE + " columns")
+        @Max(value = Game.MAX_SIZE, message = "Board must have at most " + Game.MAX_SIZE + " columns")
+        private int cols = Game.DEFAULT_SIZE;
+        
+        // K in K-in-a-row
+        @Min(value = Game.MIN_SIZE, message = "Win length must be at least " + Game.MIN_SIZE)
+        @Max(value = Game.MAX_SIZE, message = "Win length must be at most " + Game.MAX_SIZE)
+        private int winLength = Game.DEFAULT_SIZE;
+        
         public String getName() {
             return name;
         }
@@ -206,6 +448,30 @@ public class GameController {
         public void setName(String name) {
             this.name = name;
         }
+        
+        public int getRows() {
+            return rows;
+        }
+        
+        public void setRows(int rows) {
+            this.rows = rows;
+        }
+        
+        public int getCols() {
+            return cols;
+        }
+        
+        public void setCols(int cols) {
+            this.cols = cols;
+        }
+        
+        public int getWinLength() {
+            return winLength;
+        }
+        
+        public void setWinLength(int winLength) {
+            this.winLength = winLength;
+        }
     }
     
     public static class AddPlayerRequest {
@@ -220,6 +486,19 @@ public class GameController {
         }
     }
     
+    public static class AiMoveRequest {
+        @NotNull(message = "Player ID is required")
+        private String playerId;
+        
+        public String getPlayerId() {
+            return playerId;
+        }
+        
+        public void setPlayerId(String playerId) {
+            this.playerId = playerId;
+        }
+    }
+    
     public static class MakeMoveRequest {
         private String playerId;
         private int position;
@@ -240,6 +519,81 @@ public class GameController {
             this.position = position;
         }
     }
+    
+    public static class BatchMoveRequest {
+        @NotEmpty(message = "At least one move is required")
+        @Size(max = MAX_BATCH_SIZE, message = "At most " + MAX_BATCH_SIZE + " moves per batch")
+        private List<@NotNull BatchMove> moves;
+        
+        public List<BatchMove> getMoves() {
+            return moves;
+        }
+        
+        public void setMoves(List<BatchMove> moves) {
+            this.moves = moves;
+        }
+    }
+    
+    public static class BatchMove extends MakeMoveRequest {
+        private String gameId;
+        
+        public String getGameId() {
+            return gameId;
+        }
+        
+        public void setGameId(String gameId) {
+            this.gameId = gameId;
+        }
+    }
+    
+    public static class BatchJoinRequest {
+        @NotEmpty(message = "At least one join is required")
+        @Size(max = MAX_BATCH_SIZE, message = "At most " + MAX_BATCH_SIZE + " joins per batch")
+        private List<@NotNull BatchJoin> joins;
+        
+        public List<BatchJoin> getJoins() {
+            return joins;
+        }
+        
+        public void setJoins(List<BatchJoin> joins) {
+            this.joins = joins;
+        }
+    }
+    
+    public static class BatchJoin extends AddPlayerRequest {
+        private String gameId;
+        
+        public String getGameId() {
+            return gameId;
+        }
+        
+        public void setGameId(String gameId) {
+            this.gameId = gameId;
+        }
+    }
+    
+    // Per-item results in request order, plus how many were applied
+    public static class BatchResponse {
+        private final List<GameService.BatchResult> results;
+        private final long applied;
+        
+        public BatchResponse(List<GameService.BatchResult> results) {
+            this.results = results;
+            this.applied = results.stream().filter(GameService.BatchResult::success).count();
+        }
+        
+        public List<GameService.BatchResult> getResults() {
+            return results;
+        }
+        
+        public long getApplied() {
+            return applied;
+        }
+        
+        public long getRejected() {
+            return results.size() - applied;
+        }
+    }
 }
 
 // TODO: Implement basic leaderboard endpoint [ttt.feature.leaderboard.basic]
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.example.controller;
+
+import com.example.model.Game;
+import com.example.service.MatchmakingService;
+import com.example.service.MatchmakingService.MatchStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/matchmaking")
+public class MatchmakingController {
+    
+    private final MatchmakingService matchmakingService;
+    
+    @Autowired
+    public MatchmakingController(MatchmakingService matchmakingService) {
+        this.matchmakingService = matchmakingService;
+    }
+    
+    // Ask for an opponent: 200 with the game ID when matched at once, 202 while waiting
+    @PostMapping
+    public ResponseEntity<MatchStatus> enqueue(@Valid @RequestBody MatchRequest request) {
+        try {
+            MatchStatus status = matchmakingService.enqueue(request.getPlayerId(), request.getRows(),
+                request.getCols(), request.getWinLength());
+            return ResponseEntity.status(statusOf(status)).body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Poll a player's ticket
+    @GetMapping("/{playerId}")
+    public ResponseEntity<MatchStatus> getStatus(@PathVariable String playerId) {
+        return matchmakingService.getStatus(playerId)
+            .map(status -> ResponseEntity.status(statusOf(status)).body(status))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Stop waiting for an opponent
+    @DeleteMapping("/{playerId}")
+    public ResponseEntity<Void> cancel(@PathVariable String playerId) {
+        return matchmakingService.cancel(playerId)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+    
+    private static HttpStatus statusOf(MatchStatus status) {
+        return "WAITING".equals(status.status()) ? HttpStatus.ACCEPTED : HttpStatus.OK;
+    }
+    
+    // Request DTO
+    public static class MatchRequest {
+        @NotBlank(message = "Player ID is required")
+        private String playerId;
+        
+        @Min(value = Game.MIN_SIZE, message = "Board must have at least " + Game.MIN_SIZE + " rows")
+        @Max(value = Game.MAX_SIZE, message = "Board must have at most " + Game.MAX_SIZE + " rows")
+        private int rows = Game.DEFAULT_SIZE;
+        
+        @Min(value = Game.MIN_SIZE, message = "Board must have at least " + Game.MIN_SIZE + " columns")
+        @Max(value = Game.MAX_SIZE, message = "Board must have at most " + Game.MAX_SIZE + " columns")
+        private int cols = Game.DEFAULT_SIZE;
+        
+        @Min(value = Game.MIN_SIZE, message = "Win length must be at least " + Game.MIN_SIZE)
+        @Max(value = Game.MAX_SIZE, message = "Win length must be at most " + Game.MAX_SIZE)
+        private int winLength = Game.DEFAULT_SIZE;
+        
+        public String getPlayerId() {
+            return playerId;
+        }
+        
+        public void setPlayerId(String playerId) {
+            this.playerId = playerId;
+        }
+        
+        public int getRows() {
+            return rows;
+        }
+        
+        public void setRows(int rows) {
+            this.rows = rows;
+        }
+        
+        public int getCols() {
+            return cols;
+        }
+        
+        public void setCols(int cols) {
+            this.cols = cols;
+        }
+        
+        public int getWinLength() {
+            return winLength;
+        }
+        
+        public void setWinLength(int winLength) {
+            this.winLength = winLength;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Writes list results as newline-delimited JSON (one document per line) while iterating
+ * them, so a response over millions of rows needs memory for one row and the output
+ * buffer rather than the whole list.
+ */
+@Component
+public class NdjsonWriter {
+    
+    public static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson");
+    
+    private final ObjectWriter writer;
+    
+    public NdjsonWriter(ObjectMapper mapper) {
+        // Let the generator's buffer decide when to write instead of flushing every line
+        this.writer = mapper.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("\n");
+    }
+    
+    public <T> ResponseEntity<StreamingResponseBody> stream(Iterator<T> items, Function<? super T, ?> view) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter lines = writer.writeValues(out)) {
+                boolean written = false;
+                while (items.hasNext()) {
+                    lines.write(view.apply(items.next()));
+                    written = true;
+                }
+                if (written) {
+                    lines.flush();
+                    out.write('\n'); // The separator only goes between lines
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+}
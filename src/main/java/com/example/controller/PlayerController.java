@@ -1,26 +1,33 @@
 package com.example.controller;
 
 import com.example.model.Player;
-import com.example.model.PlayerStats;
+import com.example.service.Page;
 import com.example.service.PlayerService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/players")
 public class PlayerController {
     
     private final PlayerService playerService;
+    private final NdjsonWriter ndjsonWriter;
+    private final ResponseCache responseCache;
     
     @Autowired
-    public PlayerController(PlayerService playerService) {
+    public PlayerController(PlayerService playerService, NdjsonWriter ndjsonWriter, ResponseCache responseCache) {
         this.playerService = playerService;
+        this.ndjsonWriter = ndjsonWriter;
+        this.responseCache = responseCache;
     }
     
     // Create a new player
@@ -42,12 +49,41 @@ public class PlayerController {
             .orElse(ResponseEntity.notFound().build());
     }
     
-    // Get all players
+    // Get all players, or search them by name (best matches first, at most limit when
+    // given). Without a name the list can also be paged with cursor/limit, in
+    // (createdAt, id) order.
     @GetMapping
-    public ResponseEntity<List<Player>> getAllPlayers(
-            @RequestParam(required = false) String name) {
-        List<Player> players = playerService.searchByName(name);
-        return ResponseEntity.ok(players);
+    public ResponseEntity<?> getAllPlayers(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (limit != null && (limit < 1 || limit > GameController.MAX_PAGE_SIZE)) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean search = name != null && !name.trim().isEmpty();
+        if (search) {
+            if (cursor != null) {
+                return ResponseEntity.badRequest().build(); // Searches are not paged
+            }
+            return ResponseEntity.ok(limit != null
+                ? playerService.searchByName(name, limit)
+                : playerService.searchByName(name));
+        }
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok(playerService.findAll());
+        }
+        try {
+            Page<Player> page = playerService.findPage(cursor, limit != null ? limit : GameController.DEFAULT_PAGE_SIZE);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // Malformed cursor
+        }
+    }
+    
+    // Stream all players as NDJSON, in (createdAt, id) order
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllPlayers() {
+        return ndjsonWriter.stream(playerService.iterate(), Function.identity());
     }
     
     // Update player
@@ -70,15 +106,13 @@ public class PlayerController {
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
     
-    // Get player statistics
+    // Get player statistics (briefly cached, with an ETag)
     @GetMapping("/{id}/stats")
-    public ResponseEntity<PlayerStats> getPlayerStats(@PathVariable String id) {
-        try {
-            PlayerStats stats = playerService.getPlayerStats(id);
-            return ResponseEntity.ok(stats);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<byte[]> getPlayerStats(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.playerStats(id, ifNoneMatch)
+            .orElse(ResponseEntity.notFound().build());
     }
     
     // Get leaderboard
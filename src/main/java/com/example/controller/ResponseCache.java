@@ -0,0 +1,233 @@
+package com.example.controller;
+
+import com.example.model.Game;
+import com.example.model.Player;
+import com.example.service.GameEventListener;
+import com.example.service.GameService;
+import com.example.service.PlayerEventListener;
+import com.example.service.PlayerService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * Serialized JSON for responses that rarely change, with ETags so a client that already
+ * has a response gets 304 Not Modified.
+ *
+ * A finished game's board, moves and winner never change, so its views are serialized
+ * once and kept, bounded by total bytes (least-recently-used entries go first). The
+ * players embedded in them do change: their names, and their stats with every move they
+ * make and every game they finish. So every player change, including each move and each
+ * game result, takes a stamp from one increasing sequence; each entry remembers its
+ * players' newest stamp and is rebuilt when that has moved. Player stats are cached
+ * briefly and dropped on the same changes.
+ *
+ * Hits and misses are published as cache.gets{cache=game.responses|player.stats}.
+ */
+@Component
+public class ResponseCache implements GameEventListener, PlayerEventListener {
+    
+    // Per-entry bookkeeping (key, entry, node) added to the body size for the byte bound
+    private static final int ENTRY_OVERHEAD = 160;
+    
+    private final GameService gameService;
+    private final PlayerService playerService;
+    private final ObjectWriter writer;
+    
+    private final Cache<Key, Cached> games;
+    private final Cache<String, Cached> stats;
+    
+    // Player ID -> stamp of the player's latest change; deleted players are dropped
+    private final Map<String, Long> playerStamps = new ConcurrentHashMap<>();
+    private final AtomicLong stamps = new AtomicLong();
+    
+    public ResponseCache(GameService gameService, PlayerService playerService, ObjectMapper mapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${game.response-cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${game.response-cache.stats-ttl-ms:1000}") long statsTtlMs,
+                         @Value("${game.response-cache.stats-max-entries:100000}") long statsMaxEntries) {
+        if (maxBytes <= 0 || statsTtlMs <= 0 || statsMaxEntries <= 0) {
+            throw new IllegalArgumentException("Response cache size and TTL must be positive");
+        }
+        this.gameService = gameService;
+        this.playerService = playerService;
+        this.writer = mapper.writer();
+        this.games = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Key key, Cached cached) -> cached.body.length + ENTRY_OVERHEAD)
+            .recordStats()
+            .build();
+        this.stats = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(statsTtlMs))
+            .maximumSize(statsMaxEntries)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, games, "game.responses");
+        CaffeineCacheMetrics.monitor(meterRegistry, stats, "player.stats");
+        gameService.addListener(this);
+        playerService.addListener(this);
+    }
+    
+    // A view of a finished game, from the cache when possible. Empty if the game does not
+    // exist, has not finished, or the view has no body (no winner); callers then build
+    // the response themselves.
+    public Optional<ResponseEntity<byte[]>> finishedGame(String gameId, View view, String ifNoneMatch) {
+        Optional<Game> found = gameService.findById(gameId);
+        if (found.isEmpty() || !isFinished(found.get())) {
+            return Optional.empty();
+        }
+        Game game = found.get();
+        Key key = new Key(gameId, view);
+        Cached cached = games.getIfPresent(key);
+        if (cached == null || cached.version != versionOf(game)) {
+            long version = versionOf(game); // Before serializing, so a concurrent change is never missed
+            // Live games are read under their lock; archived games are private copies
+            Optional<byte[]> body = gameService.readGame(gameId, live -> serialize(view.render.apply(live)));
+            if (body.isEmpty()) {
+                body = Optional.ofNullable(serialize(view.render.apply(game)));
+            }
+            if (body.isEmpty()) {
+                return Optional.empty();
+            }
+            cached = new Cached(body.get(), version);
+            games.put(key, cached);
+        }
+        return Optional.of(respond(cached, ifNoneMatch));
+    }
+    
+    // A player's stats, cached for the stats TTL; empty if the player does not exist
+    public Optional<ResponseEntity<byte[]>> playerStats(String playerId, String ifNoneMatch) {
+        Cached cached = stats.get(playerId, id -> playerService.findById(id)
+            .map(player -> new Cached(serialize(player.getStats()), 0))
+            .orElse(null));
+        return Optional.ofNullable(cached).map(found -> respond(found, ifNoneMatch));
+    }
+    
+    // A move adds to the mover's stats, and the last move of a game records the result
+    // for both players
+    @Override
+    public void onMove(Game game, Player player, int position) {
+        if (isFinished(game)) {
+            game.getPlayers().forEach(this::changed);
+        } else {
+            changed(player);
+        }
+    }
+    
+    @Override
+    public void onGameDeleted(Game game) {
+        for (View view : View.values()) {
+            games.invalidate(new Key(game.getId(), view));
+        }
+    }
+    
+    @Override
+    public void onPlayerSaved(Player player) {
+        changed(player);
+    }
+    
+    // Forget a deleted player, and drop the cached views of their games so none is
+    // mistaken for current once the player's stamp no longer counts
+    @Override
+    public void onPlayerDeleted(Player player) {
+        playerStamps.remove(player.getId());
+        stats.invalidate(player.getId());
+        for (Game game : gameService.getGamesByPlayer(player.getId())) {
+            onGameDeleted(game);
+        }
+    }
+    
+    @Override
+    public void onStatsRecorded(Player player, boolean won, boolean drawn, int movesMade) {
+        changed(player);
+    }
+    
+    private void changed(Player player) {
+        playerStamps.merge(player.getId(), stamps.incrementAndGet(), Math::max);
+        stats.invalidate(player.getId());
+    }
+    
+    // Newest stamp among the players; stamps are unique and increasing, so this changes
+    // whenever any of them changes
+    private long versionOf(Game game) {
+        long version = 0;
+        for (Player player : game.getPlayers()) {
+            version = Math.max(version, playerStamps.getOrDefault(player.getId(), 0L));
+        }
+        return version;
+    }
+    
+    private byte[] serialize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response", e);
+        }
+    }
+    
+    private static ResponseEntity<byte[]> respond(Cached cached, String ifNoneMatch) {
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(cached.etag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cached.etag).build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(cached.etag)
+            .body(cached.body);
+    }
+    
+    private static boolean isFinished(Game game) {
+        return game.getStatus() == Game.GameStatus.COMPLETED || game.getStatus() == Game.GameStatus.DRAW;
+    }
+    
+    // Cached views of a finished game
+    public enum View {
+        GAME(game -> game),
+        BOARD(Game::getBoard),
+        MOVES(Game::getMoves),
+        WINNER(Game::getWinner);
+        
+        private final Function<Game, Object> render;
+        
+        View(Function<Game, Object> render) {
+            this.render = render;
+        }
+    }
+    
+    private record Key(String gameId, View view) {
+    }
+    
+    private static final class Cached {
+        
+        final byte[] body;
+        final long version;
+        final String etag;
+        
+        Cached(byte[] body, long version) {
+            this.body = body;
+            this.version = version;
+            CRC32C crc = new CRC32C();
+            crc.update(body);
+            this.etag = "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length) + "\"";
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Entity
@@ -17,7 +20,7 @@ public class Game {
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
     
-    @Size(max = 100, message = "Game name must be less than 100 characters")
+    @Size(max = MAX_NAME_LENGTH, message = "Game name must be at most " + MAX_NAME_LENGTH + " characters")
     @Column
     private String name;
     
@@ -25,29 +28,51 @@ public class Game {
     @Column(nullable = false)
     private GameStatus status = GameStatus.WAITING;
     
-    @ElementCollection
-    @CollectionTable(name = "game_board", joinColumns = @JoinColumn(name = "game_id"))
-    @Column(name = "cell_value")
-    private List<String> board = new ArrayList<>();
+    // Board dimensions and the run length needed to win
+    @Column(name = "board_rows", nullable = false)
+    private int rows = DEFAULT_SIZE;
     
+    @Column(name = "board_cols", nullable = false)
+    private int cols = DEFAULT_SIZE;
+    
+    @Column(name = "win_length", nullable = false)
+    private int winLength = DEFAULT_SIZE;
+    
+    // Bitboards, one per side: bit (row * cols + col) is set when that cell holds the side's mark
+    @Column(name = "x_bits", nullable = false)
+    private long[] xBits;
+    
+    @Column(name = "o_bits", nullable = false)
+    private long[] oBits;
+    
+    // Seat order decides sides (first player is X). Player references carry no foreign
+    // keys because a player can be deleted while their finished games are kept.
     @ManyToMany
+    @OrderColumn(name = "player_order")
     @JoinTable(
         name = "game_players",
         joinColumns = @JoinColumn(name = "game_id"),
-        inverseJoinColumns = @JoinColumn(name = "player_id")
+        inverseJoinColumns = @JoinColumn(name = "player_id"),
+        foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT),
+        inverseForeignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)
     )
     private List<Player> players = new ArrayList<>();
     
     @ManyToOne
-    @JoinColumn(name = "current_player_id")
+    @JoinColumn(name = "current_player_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Player currentPlayer;
     
     @ManyToOne
-    @JoinColumn(name = "winner_id")
+    @JoinColumn(name = "winner_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Player winner;
     
-    @OneToMany(mappedBy = "game", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private List<Move> moves = new ArrayList<>();
+    // Packed move log, one long per move: bits 0-15 cell index, bit 16 side (0 = X, 1 = O),
+    // bits 17-63 milliseconds since createdAt. Move views are built only when requested.
+    @Column(name = "move_log", nullable = false)
+    private long[] moveLog;
+    
+    @Column(name = "move_count", nullable = false)
+    private int moveCount;
     
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     @Column(nullable = false)
@@ -57,6 +82,17 @@ public class Game {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
     
+    // Board size limits (rows and columns alike)
+    public static final int DEFAULT_SIZE = 3;
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = 32;
+    public static final int MAX_NAME_LENGTH = 100;
+    
+    private static final int INITIAL_MOVE_LOG_CAPACITY = 16;
+    private static final int MOVE_CELL_MASK = 0xFFFF;
+    private static final int MOVE_SIDE_SHIFT = 16;
+    private static final int MOVE_TIME_SHIFT = 17;
+    
     // Game status enum
     public enum GameStatus {
         WAITING,    // Waiting for players to join
@@ -78,14 +114,44 @@ public class Game {
         this.name = name;
     }
     
-    // Initialize empty 3x3 board
-    private void initializeBoard() {
-        this.board = new ArrayList<>();
-        for (int i = 0; i < 9; i++) {
-            this.board.add(null);
+    // Constructor with name and board rules
+    public Game(String name, int rows, int cols, int winLength) {
+        this(name);
+        validateRules(rows, cols, winLength);
+        this.rows = rows;
+        this.cols = cols;
+        this.winLength = winLength;
+        initializeBoard();
+    }
+    
+    // Check board rules; throws IllegalArgumentException if they are out of range
+    public static void validateRules(int rows, int cols, int winLength) {
+        if (rows < MIN_SIZE || rows > MAX_SIZE || cols < MIN_SIZE || cols > MAX_SIZE) {
+            throw new IllegalArgumentException(
+                "Board dimensions must be between " + MIN_SIZE + " and " + MAX_SIZE);
+        }
+        if (winLength < MIN_SIZE || winLength > Math.max(rows, cols)) {
+            throw new IllegalArgumentException(
+                "Win length must be between " + MIN_SIZE + " and the larger board dimension");
+        }
+    }
+    
+    // Check a game name (which may be null); throws IllegalArgumentException if too long
+    public static void validateName(String name) {
+        if (name != null && name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Game name must be at most " + MAX_NAME_LENGTH + " characters");
         }
     }
     
+    // Initialize empty rows x cols board
+    private void initializeBoard() {
+        int words = (rows * cols + 63) >>> 6;
+        this.xBits = new long[words];
+        this.oBits = new long[words];
+        this.moveLog = new long[Math.min(rows * cols, INITIAL_MOVE_LOG_CAPACITY)];
+        this.moveCount = 0;
+    }
+    
     // Add player to game
     public boolean addPlayer(Player player) {
         if (players.size() >= 2) {
@@ -105,6 +171,11 @@ public class Game {
     
     // Make a move
     public boolean makeMove(Player player, int position) {
+        return makeMove(player, position, LocalDateTime.now());
+    }
+    
+    // Make a move recorded at the given time (replayed moves keep their original time)
+    public boolean makeMove(Player player, int position, LocalDateTime at) {
         if (status != GameStatus.ACTIVE) {
             return false; // Game not active
         }
@@ -113,86 +184,134 @@ public class Game {
             return false; // Not player's turn
         }
         
-        if (position < 0 || position >= 9 || board.get(position) != null) {
+        if (position < 0 || position >= rows * cols || isSet(xBits, position) || isSet(oBits, position)) {
             return false; // Invalid position
         }
         
         // Make the move
-        String symbol = players.indexOf(player) == 0 ? "X" : "O";
-        board.set(position, symbol);
+        int side = players.get(0).equals(player) ? 0 : 1;
+        updatedAt = at;
+        long elapsedMillis = Math.max(0, ChronoUnit.MILLIS.between(createdAt, updatedAt));
+        applyMove((elapsedMillis << MOVE_TIME_SHIFT) | ((long) side << MOVE_SIDE_SHIFT) | position);
         
-        // Create move record
-        Move move = new Move();
-        move.setGame(this);
-        move.setPlayer(player);
-        move.setPosition(position);
-        move.setSymbol(symbol);
-        moves.add(move);
+        // Moves count toward the player who made them
+        player.getStats().addMoves(1);
         
-        // Check for win or draw
-        if (checkWin(symbol)) {
-            status = GameStatus.COMPLETED;
-            winner = player;
+        // Update stats on win or draw (games played is counted once, when the game ends)
+        if (status == GameStatus.COMPLETED) {
+            players.forEach(p -> p.getStats().incrementGamesPlayed());
             player.getStats().incrementGamesWon();
             players.stream()
                 .filter(p -> !p.equals(player))
                 .findFirst()
                 .ifPresent(p -> p.getStats().incrementGamesLost());
-        } else if (checkDraw()) {
-            status = GameStatus.DRAW;
-            players.forEach(p -> p.getStats().incrementGamesDrawn());
-        } else {
-            // Switch turns
-            currentPlayer = players.get((players.indexOf(currentPlayer) + 1) % 2);
+        } else if (status == GameStatus.DRAW) {
+            players.forEach(p -> {
+                p.getStats().incrementGamesPlayed();
+                p.getStats().incrementGamesDrawn();
+            });
         }
         
-        // Update stats
-        players.forEach(p -> p.getStats().incrementGamesPlayed());
-        players.forEach(p -> p.getStats().addMoves(1));
-        
-        updatedAt = LocalDateTime.now();
         return true;
     }
     
-    // Check if a player has won
-    private boolean checkWin(String symbol) {
-        // Check rows
-        for (int i = 0; i < 9; i += 3) {
-            if (board.get(i) != null && board.get(i).equals(symbol) &&
-                board.get(i + 1) != null && board.get(i + 1).equals(symbol) &&
-                board.get(i + 2) != null && board.get(i + 2).equals(symbol)) {
-                return true;
-            }
+    // Perfect-play move for the side to move (see PerfectPlay); null unless this is an
+    // active 3x3 game with three in a row
+    public PerfectPlay.Hint perfectPlayHint() {
+        if (status != GameStatus.ACTIVE || !PerfectPlay.supports(rows, cols, winLength)) {
+            return null;
         }
-        
-        // Check columns
-        for (int i = 0; i < 3; i++) {
-            if (board.get(i) != null && board.get(i).equals(symbol) &&
-                board.get(i + 3) != null && board.get(i + 3).equals(symbol) &&
-                board.get(i + 6) != null && board.get(i + 6).equals(symbol)) {
-                return true;
-            }
+        return PerfectPlay.hint((int) xBits[0], (int) oBits[0]);
+    }
+    
+    // Rebuild a game from its persisted form. Bitboards, status, current player and
+    // winner are derived by replaying the move log; player stats are not touched.
+    public static Game restore(String id, String name, int rows, int cols, int winLength,
+                               List<Player> players, long[] moveLog, int moveCount,
+                               LocalDateTime createdAt, LocalDateTime updatedAt) {
+        Game game = new Game(name, rows, cols, winLength);
+        game.id = id;
+        players.forEach(game::addPlayer);
+        for (int i = 0; i < moveCount; i++) {
+            game.applyMove(moveLog[i]);
         }
+        game.createdAt = createdAt;
+        game.updatedAt = updatedAt;
+        return game;
+    }
+    
+    // Apply a packed move: place the mark, append it to the log and advance the game state
+    private void applyMove(long entry) {
+        int position = (int) entry & MOVE_CELL_MASK;
+        int side = (int) (entry >>> MOVE_SIDE_SHIFT) & 1;
+        long[] bits = side == 0 ? xBits : oBits;
+        bits[position >>> 6] |= 1L << position;
         
-        // Check diagonals
-        if (board.get(0) != null && board.get(0).equals(symbol) &&
-            board.get(4) != null && board.get(4).equals(symbol) &&
-            board.get(8) != null && board.get(8).equals(symbol)) {
-            return true;
+        if (moveCount == moveLog.length) {
+            moveLog = Arrays.copyOf(moveLog, Math.min(moveLog.length * 2, rows * cols));
         }
+        moveLog[moveCount++] = entry;
         
-        if (board.get(2) != null && board.get(2).equals(symbol) &&
-            board.get(4) != null && board.get(4).equals(symbol) &&
-            board.get(6) != null && board.get(6).equals(symbol)) {
-            return true;
+        // Check for win or draw
+        if (checkWin(bits, position / cols, position % cols)) {
+            status = GameStatus.COMPLETED;
+            winner = players.get(side);
+        } else if (checkDraw()) {
+            status = GameStatus.DRAW;
+        } else {
+            // Switch turns
+            currentPlayer = players.get(1 - side);
         }
-        
-        return false;
     }
     
-    // Check if game is a draw
+    // Materialize the move at the given index of the log
+    private Move moveAt(int index) {
+        long entry = moveLog[index];
+        int side = (int) (entry >>> MOVE_SIDE_SHIFT) & 1;
+        Move move = new Move();
+        move.setMoveNumber(index + 1);
+        move.setPlayer(side < players.size() ? players.get(side) : null);
+        move.setPosition((int) entry & MOVE_CELL_MASK);
+        move.setSymbol(side == 0 ? "X" : "O");
+        move.setCreatedAt(createdAt.plus(entry >>> MOVE_TIME_SHIFT, ChronoUnit.MILLIS));
+        return move;
+    }
+    
+    // Check whether the cell just placed at (row, col) completes a run of winLength.
+    // Only the four lines through that cell are examined, so this is O(winLength).
+    private boolean checkWin(long[] bits, int row, int col) {
+        return runThrough(bits, row, col, 0, 1) >= winLength
+            || runThrough(bits, row, col, 1, 0) >= winLength
+            || runThrough(bits, row, col, 1, 1) >= winLength
+            || runThrough(bits, row, col, 1, -1) >= winLength;
+    }
+    
+    // Length of the contiguous run through (row, col) along direction (dr, dc)
+    private int runThrough(long[] bits, int row, int col, int dr, int dc) {
+        return 1 + runFrom(bits, row, col, dr, dc) + runFrom(bits, row, col, -dr, -dc);
+    }
+    
+    // Marked cells following (row, col) in direction (dr, dc), capped at winLength - 1
+    private int runFrom(long[] bits, int row, int col, int dr, int dc) {
+        int count = 0;
+        int r = row + dr;
+        int c = col + dc;
+        while (count < winLength - 1 && r >= 0 && r < rows && c >= 0 && c < cols
+                && isSet(bits, r * cols + c)) {
+            count++;
+            r += dr;
+            c += dc;
+        }
+        return count;
+    }
+    
+    // Check if game is a draw (every cell filled without a win)
     private boolean checkDraw() {
-        return board.stream().allMatch(cell -> cell != null);
+        return moveCount >= rows * cols;
+    }
+    
+    private static boolean isSet(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
     }
     
     // Getters and Setters
@@ -220,12 +339,37 @@ public class Game {
         this.status = status;
     }
     
+    public int getRows() {
+        return rows;
+    }
+    
+    public int getCols() {
+        return cols;
+    }
+    
+    public int getWinLength() {
+        return winLength;
+    }
+    
+    // Row-major board view ("X", "O" or null per cell), materialized from the bitboards
     public List<String> getBoard() {
+        int cells = rows * cols;
+        List<String> board = new ArrayList<>(cells);
+        for (int i = 0; i < cells; i++) {
+            board.add(isSet(xBits, i) ? "X" : isSet(oBits, i) ? "O" : null);
+        }
         return board;
     }
     
     public void setBoard(List<String> board) {
-        this.board = board;
+        initializeBoard();
+        for (int i = 0; i < Math.min(board.size(), rows * cols); i++) {
+            if ("X".equals(board.get(i))) {
+                xBits[i >>> 6] |= 1L << i;
+            } else if ("O".equals(board.get(i))) {
+                oBits[i >>> 6] |= 1L << i;
+            }
+        }
     }
     
     public List<Player> getPlayers() {
@@ -252,12 +396,40 @@ public class Game {
         this.winner = winner;
     }
     
+    // All moves, materialized from the move log
     public List<Move> getMoves() {
-        return moves;
+        return getMoves(0, moveCount);
+    }
+    
+    // A page of moves in play order, materialized from the move log
+    public List<Move> getMoves(int offset, int limit) {
+        int from = Math.min(Math.max(offset, 0), moveCount);
+        int to = (int) Math.min((long) from + Math.max(limit, 0), moveCount);
+        List<Move> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(moveAt(i));
+        }
+        return page;
+    }
+    
+    public int getMoveCount() {
+        return moveCount;
+    }
+    
+    // Packed move log entries (see moveLog), trimmed to the moves played
+    @JsonIgnore
+    public long[] getMoveLog() {
+        return Arrays.copyOf(moveLog, moveCount);
+    }
+    
+    @JsonIgnore
+    public long[] getXBits() {
+        return xBits.clone();
     }
     
-    public void setMoves(List<Move> moves) {
-        this.moves = moves;
+    @JsonIgnore
+    public long[] getOBits() {
+        return oBits.clone();
     }
     
     public LocalDateTime getCreatedAt() {
@@ -0,0 +1,80 @@
+package com.example.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Function;
+
+// Compact list view of a game: no board, no nested players and no move history
+public record GameSummary(String id, Game.GameStatus status, List<String> playerIds, int moveCount,
+                          @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime updatedAt) {
+    
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    
+    // Fields a client may select with fields=a,b,c
+    private static final Map<String, Function<Game, Object>> FIELDS = new LinkedHashMap<>();
+    
+    static {
+        FIELDS.put("id", Game::getId);
+        FIELDS.put("name", Game::getName);
+        FIELDS.put("status", Game::getStatus);
+        FIELDS.put("playerIds", GameSummary::playerIdsOf);
+        FIELDS.put("moveCount", Game::getMoveCount);
+        FIELDS.put("currentPlayerId", game -> game.getCurrentPlayer() != null ? game.getCurrentPlayer().getId() : null);
+        FIELDS.put("winnerId", game -> game.getWinner() != null ? game.getWinner().getId() : null);
+        FIELDS.put("rows", Game::getRows);
+        FIELDS.put("cols", Game::getCols);
+        FIELDS.put("winLength", Game::getWinLength);
+        FIELDS.put("board", Game::getBoard);
+        FIELDS.put("createdAt", game -> format(game.getCreatedAt()));
+        FIELDS.put("updatedAt", game -> format(game.getUpdatedAt()));
+    }
+    
+    public static GameSummary of(Game game) {
+        return new GameSummary(game.getId(), game.getStatus(), playerIdsOf(game), game.getMoveCount(),
+            game.getUpdatedAt());
+    }
+    
+    // Parse a comma-separated field list; throws IllegalArgumentException on unknown names
+    public static Set<String> parseFields(String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No fields selected");
+        }
+        return selected;
+    }
+    
+    // Only the selected fields of a game, in the order they were requested
+    public static Map<String, Object> select(Game game, Set<String> fields) {
+        Map<String, Object> view = new LinkedHashMap<>(fields.size() * 2);
+        for (String field : fields) {
+            view.put(field, FIELDS.get(field).apply(game));
+        }
+        return view;
+    }
+    
+    private static List<String> playerIdsOf(Game game) {
+        List<Player> players = game.getPlayers();
+        List<String> ids = new ArrayList<>(players.size());
+        for (Player player : players) {
+            ids.add(player.getId());
+        }
+        return ids;
+    }
+    
+    private static String format(LocalDateTime time) {
+        return time != null ? TIMESTAMP.format(time) : null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+// Read-only view of one entry in a game's packed move log
+public class Move {
+    
+    private int moveNumber;
+    
+    private Player player;
+    
+    private int position;
+    
+    private String symbol;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+    
+    // Default constructor
+    public Move() {
+    }
+    
+    // Getters and Setters
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+    
+    public void setMoveNumber(int moveNumber) {
+        this.moveNumber = moveNumber;
+    }
+    
+    public Player getPlayer() {
+        return player;
+    }
+    
+    public void setPlayer(Player player) {
+        this.player = player;
+    }
+    
+    public int getPosition() {
+        return position;
+    }
+    
+    public void setPosition(int position) {
+        this.position = position;
+    }
+    
+    public String getSymbol() {
+        return symbol;
+    }
+    
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
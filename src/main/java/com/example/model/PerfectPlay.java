@@ -0,0 +1,137 @@
+package com.example.model;
+
+/**
+ * Perfect play for standard tic-tac-toe (3x3, three in a row), solved once when the class
+ * loads: a table over every position, indexed in base 3 (cell i contributes 3^i times
+ * 0 = empty, 1 = X, 2 = O), holds the best move for the side to move and the result it
+ * leads to. A hint is two small-table lookups to build the index and one to read the
+ * answer; there is no search at request time.
+ *
+ * Solving takes a few milliseconds (5,478 reachable positions), so the table is computed
+ * rather than shipped as a resource. Among equally good moves the fastest win (or the
+ * slowest loss) is chosen, then the lowest cell.
+ */
+public final class PerfectPlay {
+    
+    public static final int SIZE = 3;
+    
+    private static final int CELLS = SIZE * SIZE;
+    private static final int POSITIONS = 19683; // 3^9
+    
+    private static final int[] LINES = {
+        0b000000111, 0b000111000, 0b111000000, // Rows
+        0b001001001, 0b010010010, 0b100100100, // Columns
+        0b100010001, 0b001010100               // Diagonals
+    };
+    
+    // Entry layout: low nibble = best move (NO_MOVE when there is none), bits 4-5 = outcome
+    private static final int NO_MOVE = 0xF;
+    private static final int UNSOLVED = 0;
+    
+    // Base-3 weight of a set of cells (bit i -> 3^i), for X; O weighs twice as much
+    private static final int[] BASE3 = new int[1 << CELLS];
+    
+    private static final byte[] TABLE = new byte[POSITIONS];
+    
+    static {
+        for (int mask = 1; mask < BASE3.length; mask++) {
+            int cell = Integer.numberOfTrailingZeros(mask);
+            BASE3[mask] = BASE3[mask & (mask - 1)] + pow3(cell);
+        }
+        solve(0, 0, new byte[POSITIONS]);
+    }
+    
+    private PerfectPlay() {
+    }
+    
+    // Result of perfect play from a position, for the side to move
+    public enum Outcome {
+        WIN, DRAW, LOSS
+    }
+    
+    // Best move and the outcome it leads to, for the side to move
+    public record Hint(int position, int row, int col, Outcome outcome) {
+    }
+    
+    // Whether a game is played on the board this table solves
+    public static boolean supports(int rows, int cols, int winLength) {
+        return rows == SIZE && cols == SIZE && winLength == SIZE;
+    }
+    
+    // Hint for the side to move, given each side's cells as bit masks (bit i = cell i).
+    // Null if the position is finished or cannot arise in play.
+    public static Hint hint(int xCells, int oCells) {
+        int entry = entry(xCells, oCells);
+        if (entry == UNSOLVED || (entry & NO_MOVE) == NO_MOVE) {
+            return null;
+        }
+        int position = entry & NO_MOVE;
+        return new Hint(position, position / SIZE, position % SIZE, Outcome.values()[(entry >>> 4) - 1]);
+    }
+    
+    // Best cell for the side to move, or -1 if the position is finished or unreachable
+    public static int bestMove(int xCells, int oCells) {
+        int entry = entry(xCells, oCells);
+        return entry == UNSOLVED || (entry & NO_MOVE) == NO_MOVE ? -1 : entry & NO_MOVE;
+    }
+    
+    private static int entry(int xCells, int oCells) {
+        if (((xCells | oCells) & ~((1 << CELLS) - 1)) != 0 || (xCells & oCells) != 0) {
+            return UNSOLVED;
+        }
+        return TABLE[BASE3[xCells] + 2 * BASE3[oCells]];
+    }
+    
+    // Negamax over reachable positions; returns the score for the side to move: 10 minus
+    // the number of marks at the end for a win, its negation for a loss, 0 for a draw.
+    // scores caches results (offset by 64 so 0 means "not yet solved").
+    private static int solve(int x, int o, byte[] scores) {
+        int index = BASE3[x] + 2 * BASE3[o];
+        if (scores[index] != 0) {
+            return scores[index] - 64;
+        }
+        boolean xToMove = Integer.bitCount(x) == Integer.bitCount(o);
+        int marks = Integer.bitCount(x | o);
+        int score;
+        int best = NO_MOVE;
+        if (hasLine(xToMove ? o : x)) {
+            score = -(10 - marks); // The previous move won
+        } else if (marks == CELLS) {
+            score = 0;
+        } else {
+            score = Integer.MIN_VALUE;
+            for (int cell = 0; cell < CELLS; cell++) {
+                int bit = 1 << cell;
+                if (((x | o) & bit) != 0) {
+                    continue;
+                }
+                int value = -(xToMove ? solve(x | bit, o, scores) : solve(x, o | bit, scores));
+                if (value > score) {
+                    score = value;
+                    best = cell;
+                }
+            }
+        }
+        Outcome outcome = score > 0 ? Outcome.WIN : score < 0 ? Outcome.LOSS : Outcome.DRAW;
+        TABLE[index] = (byte) (((outcome.ordinal() + 1) << 4) | best);
+        scores[index] = (byte) (score + 64);
+        return score;
+    }
+    
+    private static boolean hasLine(int cells) {
+        for (int line : LINES) {
+            if ((cells & line) == line) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static int pow3(int exponent) {
+        int value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 3;
+        }
+        return value;
+    }
+}
@@ -12,17 +12,21 @@ import java.time.LocalDateTime;
 @Table(name = "players")
 public class Player {
     
+    public static final int MAX_NAME_LENGTH = 100;
+    public static final int MAX_EMAIL_LENGTH = 254;
+    
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
     
     @NotBlank(message = "Player name is required")
-    @Size(min = 1, max = 100, message = "Player name must be between 1 and 100 characters")
+    @Size(min = 1, max = MAX_NAME_LENGTH, message = "Player name must be between 1 and 100 characters")
     @Column(nullable = false)
     private String name;
     
     @NotBlank(message = "Player email is required")
     @Email(message = "Player email must be valid")
+    @Size(max = MAX_EMAIL_LENGTH, message = "Player email must be at most 254 characters")
     @Column(nullable = false, unique = true)
     private String email;
     
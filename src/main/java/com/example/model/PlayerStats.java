@@ -1,137 +1,191 @@
 package com.example.model;
 
+import jakarta.persistence.Access;
+import jakarta.persistence.AccessType;
 import jakarta.persistence.Embeddable;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters are striped LongAdders, so concurrent games can update one player's stats
+// without locks and without losing increments. Rates are derived from the counters at
+// read time; they are still mapped (property access) so repository queries can use them.
 @Embeddable
+@Access(AccessType.PROPERTY)
 public class PlayerStats {
     
-    private int gamesPlayed = 0;
-    private int gamesWon = 0;
-    private int gamesLost = 0;
-    private int gamesDrawn = 0;
-    private int totalMoves = 0;
-    private double averageMovesPerWin = 0.0;
-    private double winRate = 0.0;
-    private double efficiency = 0.0;
+    // Current capture epoch (see beginCapture), 0 until the first capture, and the marker
+    // left in place of a copy once it has been taken
+    private static final AtomicLong captureEpoch = new AtomicLong();
+    private static volatile Captured taken = new Captured(0, 0, 0, 0, 0, 0);
+    
+    private final LongAdder gamesPlayed = new LongAdder();
+    private final LongAdder gamesWon = new LongAdder();
+    private final LongAdder gamesLost = new LongAdder();
+    private final LongAdder gamesDrawn = new LongAdder();
+    private final LongAdder totalMoves = new LongAdder();
+    
+    // Copy of the counters as they were when the latest capture epoch began
+    private final AtomicReference<Captured> captured = new AtomicReference<>();
     
     // Default constructor
     public PlayerStats() {}
     
-    // Constructor with initial values
-    public PlayerStats(int gamesPlayed, int gamesWon, int gamesLost, int gamesDrawn, 
+    // Constructor with initial values (derived rates are recomputed from the counters)
+    public PlayerStats(int gamesPlayed, int gamesWon, int gamesLost, int gamesDrawn,
                       int totalMoves, double averageMovesPerWin, double winRate, double efficiency) {
-        this.gamesPlayed = gamesPlayed;
-        this.gamesWon = gamesWon;
-        this.gamesLost = gamesLost;
-        this.gamesDrawn = gamesDrawn;
-        this.totalMoves = totalMoves;
-        this.averageMovesPerWin = averageMovesPerWin;
-        this.winRate = winRate;
-        this.efficiency = efficiency;
+        setGamesPlayed(gamesPlayed);
+        setGamesWon(gamesWon);
+        setGamesLost(gamesLost);
+        setGamesDrawn(gamesDrawn);
+        setTotalMoves(totalMoves);
     }
     
     // Getters and Setters
     public int getGamesPlayed() {
-        return gamesPlayed;
+        return gamesPlayed.intValue();
     }
     
     public void setGamesPlayed(int gamesPlayed) {
-        this.gamesPlayed = gamesPlayed;
+        reset(this.gamesPlayed, gamesPlayed);
     }
     
     public int getGamesWon() {
-        return gamesWon;
+        return gamesWon.intValue();
     }
     
     public void setGamesWon(int gamesWon) {
-        this.gamesWon = gamesWon;
+        reset(this.gamesWon, gamesWon);
     }
     
     public int getGamesLost() {
-        return gamesLost;
+        return gamesLost.intValue();
     }
     
     public void setGamesLost(int gamesLost) {
-        this.gamesLost = gamesLost;
+        reset(this.gamesLost, gamesLost);
     }
     
     public int getGamesDrawn() {
-        return gamesDrawn;
+        return gamesDrawn.intValue();
     }
     
     public void setGamesDrawn(int gamesDrawn) {
-        this.gamesDrawn = gamesDrawn;
+        reset(this.gamesDrawn, gamesDrawn);
     }
     
     public int getTotalMoves() {
-        return totalMoves;
+        return totalMoves.intValue();
     }
     
     public void setTotalMoves(int totalMoves) {
-        this.totalMoves = totalMoves;
+        reset(this.totalMoves, totalMoves);
     }
     
     public double getAverageMovesPerWin() {
-        return averageMovesPerWin;
+        long won = gamesWon.sum();
+        return won > 0 ? (double) totalMoves.sum() / won : 0.0;
     }
     
     public void setAverageMovesPerWin(double averageMovesPerWin) {
-        this.averageMovesPerWin = averageMovesPerWin;
+        // Derived from the counters; value supplied on load is ignored
     }
     
     public double getWinRate() {
-        return winRate;
+        long played = gamesPlayed.sum();
+        // A concurrent update may land between the two reads; never report above 100%
+        return played > 0 ? Math.min(1.0, (double) gamesWon.sum() / played) : 0.0;
     }
     
     public void setWinRate(double winRate) {
-        this.winRate = winRate;
+        // Derived from the counters; value supplied on load is ignored
     }
     
+    // Wins per move made: higher is better (fewer moves per win)
     public double getEfficiency() {
-        return efficiency;
+        long moves = totalMoves.sum();
+        return moves > 0 ? (double) gamesWon.sum() / moves : 0.0;
     }
     
     public void setEfficiency(double efficiency) {
-        this.efficiency = efficiency;
+        // Derived from the counters; value supplied on load is ignored
     }
     
     // Helper methods to update stats
     public void incrementGamesPlayed() {
-        this.gamesPlayed++;
-        updateWinRate();
+        preserve();
+        gamesPlayed.increment();
     }
     
     public void incrementGamesWon() {
-        this.gamesWon++;
-        updateWinRate();
+        preserve();
+        gamesWon.increment();
     }
     
     public void incrementGamesLost() {
-        this.gamesLost++;
-        updateWinRate();
+        preserve();
+        gamesLost.increment();
     }
     
     public void incrementGamesDrawn() {
-        this.gamesDrawn++;
-        updateWinRate();
+        preserve();
+        gamesDrawn.increment();
     }
     
     public void addMoves(int moves) {
-        this.totalMoves += moves;
-        updateAverageMovesPerWin();
+        preserve();
+        totalMoves.add(moves);
+    }
+    
+    // Start a point-in-time capture of every player's stats and return its epoch. The
+    // caller must make sure no stats change is in progress while this runs. Afterwards a
+    // player's first change keeps a copy of the counters from before it, so
+    // takeCaptured(epoch) can be called at leisure while stats keep changing.
+    public static long beginCapture() {
+        long epoch = captureEpoch.get() + 1;
+        taken = new Captured(epoch, 0, 0, 0, 0, 0);
+        captureEpoch.set(epoch);
+        return epoch;
+    }
+    
+    // Counters as they were when the given capture epoch began. Each player's copy is
+    // handed out once and then released, so a capture holds no memory per player once
+    // it has been read.
+    public PlayerStats takeCaptured(long epoch) {
+        if (epoch != captureEpoch.get()) {
+            throw new IllegalStateException("Capture epoch " + epoch + " is no longer current");
+        }
+        preserve();
+        Captured copy = captured.get();
+        if (copy == taken || !captured.compareAndSet(copy, taken)) {
+            throw new IllegalStateException("Stats for capture epoch " + epoch + " were already taken");
+        }
+        return new PlayerStats(copy.gamesPlayed, copy.gamesWon, copy.gamesLost, copy.gamesDrawn,
+            copy.totalMoves, 0.0, 0.0, 0.0);
+    }
+    
+    // Before the first change in a capture epoch, keep a copy of the counters. Changes
+    // only happen after a copy for the epoch is in place, so a copy that wins the
+    // compare-and-set holds no change from this epoch.
+    private void preserve() {
+        long epoch = captureEpoch.get();
+        Captured current = captured.get();
+        if (epoch == 0 || (current != null && current.epoch == epoch)) {
+            return;
+        }
+        captured.compareAndSet(current, new Captured(epoch, getGamesPlayed(), getGamesWon(), getGamesLost(),
+            getGamesDrawn(), getTotalMoves()));
     }
     
-    private void updateWinRate() {
-        if (gamesPlayed > 0) {
-            this.winRate = (double) gamesWon / gamesPlayed;
-        }
+    private static void reset(LongAdder counter, long value) {
+        counter.reset();
+        counter.add(value);
     }
     
-    private void updateAverageMovesPerWin() {
-        if (gamesWon > 0) {
-            this.averageMovesPerWin = (double) totalMoves / gamesWon;
-        }
+    private record Captured(long epoch, int gamesPlayed, int gamesWon, int gamesLost, int gamesDrawn,
+                            int totalMoves) {
     }
 }
 
-// TODO: Implement basic leaderboard endpoint [ttt.feature.leaderboard.basic]
\ No newline at end of file
+// TODO: Implement basic leaderboard endpoint [ttt.feature.leaderboard.basic]
@@ -0,0 +1,194 @@
+package com.example.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only event log split into fixed-size, memory-mapped segment files.
+ *
+ * Each record is {@code [int length][byte type][payload]}; a zero length marks the end of
+ * a segment. The payload is written before its length, so a record cut short by a crash
+ * is never read back. Appends are serialized by a lock and cost one sequential copy into
+ * the mapped segment; with {@code sync} enabled each append is also forced to disk.
+ */
+public class EventLog implements Closeable {
+    
+    private static final Pattern SEGMENT_NAME = Pattern.compile("events-(\\d{20})\\.log");
+    private static final int HEADER_BYTES = Integer.BYTES + Byte.BYTES;
+    
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean sync;
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    // Scratch space for encoding one record before it is copied into the segment
+    private final ByteBuffer scratch;
+    
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentNumber;
+    
+    public EventLog(Path directory, int segmentBytes, boolean sync) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.sync = sync;
+        this.scratch = ByteBuffer.allocate(Math.min(segmentBytes, 1 << 16) - HEADER_BYTES);
+    }
+    
+    // Segment numbers present on disk, oldest first
+    public List<Long> segments() {
+        List<Long> numbers = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return numbers;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    numbers.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+    
+    // Read every record in the given segment, in order. The buffer passed to the reader
+    // holds the payload of one record and is only valid during the call.
+    public void read(long number, RecordReader reader) {
+        try (FileChannel file = FileChannel.open(segmentPath(number), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break; // End of segment (or a record torn by a crash)
+                }
+                byte type = buffer.get();
+                ByteBuffer payload = buffer.slice(buffer.position(), length - Byte.BYTES);
+                reader.read(type, payload);
+                buffer.position(buffer.position() + length - Byte.BYTES);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // Start appending to a new segment after every existing one; returns its number
+    public long rotate() {
+        lock.lock();
+        try {
+            closeSegment();
+            List<Long> existing = segments();
+            segmentNumber = existing.isEmpty() ? 1 : existing.get(existing.size() - 1) + 1;
+            Files.createDirectories(directory);
+            channel = FileChannel.open(segmentPath(segmentNumber), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            return segmentNumber;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // Append one record, rolling over to a new segment when the current one is full
+    public void append(byte type, Consumer<ByteBuffer> payloadWriter) {
+        lock.lock();
+        try {
+            if (segment == null) {
+                throw new IllegalStateException("Event log is not open");
+            }
+            scratch.clear();
+            payloadWriter.accept(scratch);
+            scratch.flip();
+            int length = Byte.BYTES + scratch.remaining();
+            if (segment.remaining() < Integer.BYTES + length) {
+                rotate();
+            }
+            int start = segment.position();
+            segment.position(start + Integer.BYTES);
+            segment.put(type);
+            segment.put(scratch);
+            segment.putInt(start, length);
+            if (sync) {
+                segment.force(start, Integer.BYTES + length);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // Run an action with appends blocked, e.g. to rotate at a consistent point
+    public <T> T withAppendsBlocked(Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // Remove segments older than the given number
+    public void deleteBefore(long number) {
+        for (long existing : segments()) {
+            if (existing < number && existing != segmentNumber) {
+                try {
+                    Files.deleteIfExists(segmentPath(existing));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closeSegment();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        segment.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segment = null;
+        channel = null;
+    }
+    
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("events-%020d.log", number));
+    }
+    
+    @FunctionalInterface
+    public interface RecordReader {
+        void read(byte type, ByteBuffer payload);
+    }
+}
@@ -0,0 +1,448 @@
+package com.example.persistence;
+
+import com.example.model.Game;
+import com.example.model.Player;
+import com.example.model.PlayerStats;
+import com.example.persistence.StateCodec.GameState;
+import com.example.service.GameEventListener;
+import com.example.service.GameService;
+import com.example.service.PlayerEventListener;
+import com.example.service.PlayerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Durability through an append-only {@link EventLog} plus periodic snapshots.
+ *
+ * Every join, move, deletion and player change is appended to the log as it happens.
+ * A snapshot blocks all game traffic only long enough to rotate the log and start a
+ * capture (no work per game or player; timed as event-log.snapshot.pause), then walks
+ * games and players one at a time while traffic continues, recording each as it was at
+ * the rotation, and writes that state out. On startup the newest snapshot is loaded and
+ * only the log segments written after it are replayed. Replay skips events the snapshot
+ * already reflects, so the overlap between a snapshot and its tail is harmless.
+ */
+@Component
+@ConditionalOnProperty(name = "game.persistence.event-log.enabled", havingValue = "true")
+public class EventLogPersister implements GameEventListener, PlayerEventListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(EventLogPersister.class);
+    
+    // Event types
+    private static final byte PLAYER_SAVED = 1;
+    private static final byte PLAYER_DELETED = 2;
+    private static final byte STATS_RECORDED = 3;
+    private static final byte GAME_CREATED = 4;
+    private static final byte PLAYER_JOINED = 5;
+    private static final byte MOVE = 6;
+    private static final byte GAME_DELETED = 7;
+    
+    private static final int SNAPSHOT_MAGIC = 0x54545453; // "TTTS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{20})\\.bin");
+    
+    private final GameService gameService;
+    private final PlayerService playerService;
+    private final EventLog eventLog;
+    private final Path directory;
+    private final long snapshotIntervalMs;
+    private final Timer snapshotPause;
+    
+    // The snapshot being taken, if any; its marks are filled in by the game listeners
+    private volatile Capture capture;
+    
+    private final ScheduledExecutorService snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "event-log-snapshotter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public EventLogPersister(GameService gameService, PlayerService playerService, MeterRegistry meterRegistry,
+                             @Value("${game.persistence.event-log.dir:./data/events}") String directory,
+                             @Value("${game.persistence.event-log.segment-bytes:67108864}") int segmentBytes,
+                             @Value("${game.persistence.event-log.sync:false}") boolean sync,
+                             @Value("${game.persistence.event-log.snapshot-interval-ms:300000}") long snapshotIntervalMs) {
+        if (segmentBytes < 4096 || snapshotIntervalMs <= 0) {
+            throw new IllegalArgumentException("Segment size must be at least 4096 bytes and snapshot interval positive");
+        }
+        this.gameService = gameService;
+        this.playerService = playerService;
+        this.directory = Paths.get(directory);
+        this.eventLog = new EventLog(this.directory, segmentBytes, sync);
+        this.snapshotIntervalMs = snapshotIntervalMs;
+        this.snapshotPause = Timer.builder("event-log.snapshot.pause")
+            .description("Time game traffic is blocked to start a snapshot")
+            .register(meterRegistry);
+    }
+    
+    // Recover from the newest snapshot plus the log tail, then start logging
+    @PostConstruct
+    public void start() throws IOException {
+        long started = System.nanoTime();
+        long replayFrom = loadLatestSnapshot();
+        int[] replayed = new int[1];
+        for (long segment : eventLog.segments()) {
+            if (segment >= replayFrom) {
+                eventLog.read(segment, (type, payload) -> {
+                    replay(type, payload);
+                    replayed[0]++;
+                });
+            }
+        }
+        eventLog.rotate();
+        log.info("Recovered {} players and {} games ({} log events replayed) in {} ms",
+            playerService.getTotalPlayerCount(), gameService.getTotalGameCount(), replayed[0],
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        
+        gameService.addListener(this);
+        playerService.addListener(this);
+        snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalMs, snapshotIntervalMs,
+            TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        snapshotter.shutdown();
+        snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        eventLog.close();
+    }
+    
+    @Override
+    public void onPlayerSaved(Player player) {
+        eventLog.append(PLAYER_SAVED, buffer -> {
+            StateCodec.putString(buffer, player.getId());
+            StateCodec.putString(buffer, player.getName());
+            StateCodec.putString(buffer, player.getEmail());
+            buffer.putLong(StateCodec.toEpochMilli(player.getCreatedAt()));
+        });
+    }
+    
+    @Override
+    public void onPlayerDeleted(Player player) {
+        eventLog.append(PLAYER_DELETED, buffer -> StateCodec.putString(buffer, player.getId()));
+    }
+    
+    @Override
+    public void onStatsRecorded(Player player, boolean won, boolean drawn, int movesMade) {
+        eventLog.append(STATS_RECORDED, buffer -> {
+            StateCodec.putString(buffer, player.getId());
+            buffer.put((byte) (won ? 1 : 0));
+            buffer.put((byte) (drawn ? 1 : 0));
+            buffer.putInt(movesMade);
+        });
+    }
+    
+    @Override
+    public void onGameCreated(Game game) {
+        Capture current = capture;
+        if (current != null) {
+            current.marks().putIfAbsent(game.getId(), GameMark.CREATED_SINCE);
+        }
+        eventLog.append(GAME_CREATED, buffer -> {
+            StateCodec.putString(buffer, game.getId());
+            StateCodec.putString(buffer, game.getName());
+            buffer.put((byte) game.getRows());
+            buffer.put((byte) game.getCols());
+            buffer.put((byte) game.getWinLength());
+            buffer.putLong(StateCodec.toEpochMilli(game.getCreatedAt()));
+        });
+    }
+    
+    @Override
+    public void onPlayerJoined(Game game, Player player) {
+        Capture current = capture;
+        if (current != null) {
+            current.marks().putIfAbsent(game.getId(), new GameMark(game.getPlayers().size() - 1, game.getMoveCount()));
+        }
+        eventLog.append(PLAYER_JOINED, buffer -> {
+            StateCodec.putString(buffer, game.getId());
+            StateCodec.putString(buffer, player.getId());
+        });
+    }
+    
+    @Override
+    public void onMove(Game game, Player player, int position) {
+        Capture current = capture;
+        if (current != null) {
+            current.marks().putIfAbsent(game.getId(), new GameMark(game.getPlayers().size(), game.getMoveCount() - 1));
+        }
+        eventLog.append(MOVE, buffer -> {
+            StateCodec.putString(buffer, game.getId());
+            StateCodec.putString(buffer, player.getId());
+            buffer.putShort((short) position);
+            buffer.putShort((short) (game.getMoveCount() - 1));
+            buffer.putLong(StateCodec.toEpochMilli(game.getUpdatedAt()));
+        });
+    }
+    
+    @Override
+    public void onGameDeleted(Game game) {
+        // Keep a game the walk has not reached, as it was at the capture, so the moves
+        // the tail holds for it can be replayed before its deletion
+        Capture current = capture;
+        if (current != null) {
+            GameMark mark = current.marks().put(game.getId(), GameMark.TAKEN);
+            if (mark == null) {
+                current.deleted().add(GameState.of(game));
+            } else if (mark != GameMark.CREATED_SINCE && mark != GameMark.TAKEN) {
+                current.deleted().add(GameState.of(game, mark.seats(), mark.moves()));
+            }
+        }
+        eventLog.append(GAME_DELETED, buffer -> StateCodec.putString(buffer, game.getId()));
+    }
+    
+    // Apply one logged event. Each case is idempotent against state that already
+    // includes it (from the snapshot), which makes the snapshot/tail overlap safe.
+    private void replay(byte type, ByteBuffer payload) {
+        try {
+            switch (type) {
+                case PLAYER_SAVED -> {
+                    String id = StateCodec.getString(payload);
+                    String name = StateCodec.getString(payload);
+                    String email = StateCodec.getString(payload);
+                    long createdAt = payload.getLong();
+                    if (playerService.findById(id).isPresent()) {
+                        playerService.updatePlayer(id, name, email);
+                    } else {
+                        Player player = new Player(name, email);
+                        player.setId(id);
+                        player.setCreatedAt(StateCodec.fromEpochMilli(createdAt));
+                        playerService.restorePlayer(player);
+                    }
+                }
+                case PLAYER_DELETED -> playerService.deletePlayer(StateCodec.getString(payload));
+                case STATS_RECORDED -> playerService.updatePlayerStats(StateCodec.getString(payload),
+                    payload.get() != 0, payload.get() != 0, payload.getInt());
+                case GAME_CREATED -> {
+                    String id = StateCodec.getString(payload);
+                    String name = StateCodec.getString(payload);
+                    int rows = payload.get();
+                    int cols = payload.get();
+                    int winLength = payload.get();
+                    var createdAt = StateCodec.fromEpochMilli(payload.getLong());
+                    if (gameService.findById(id).isEmpty()) {
+                        gameService.restoreGame(Game.restore(id, name, rows, cols, winLength,
+                            List.of(), new long[0], 0, createdAt, createdAt));
+                    }
+                }
+                case PLAYER_JOINED -> {
+                    String gameId = StateCodec.getString(payload);
+                    String playerId = StateCodec.getString(payload);
+                    if (gameService.findById(gameId).isPresent() && !gameService.isPlayerInGame(gameId, playerId)) {
+                        gameService.addPlayerToGame(gameId, resolvePlayer(playerId));
+                    }
+                }
+                case MOVE -> {
+                    String gameId = StateCodec.getString(payload);
+                    String playerId = StateCodec.getString(payload);
+                    int position = payload.getShort();
+                    int moveIndex = payload.getShort();
+                    var at = StateCodec.fromEpochMilli(payload.getLong());
+                    Optional<Game> game = gameService.findById(gameId);
+                    if (game.isPresent() && game.get().getMoveCount() == moveIndex) {
+                        gameService.makeMove(gameId, playerId, position, at);
+                    }
+                }
+                case GAME_DELETED -> gameService.deleteGame(StateCodec.getString(payload));
+                default -> log.warn("Skipping unknown event type {}", type);
+            }
+        } catch (BufferUnderflowException e) {
+            log.error("Skipping event type {} with a truncated or malformed payload", type, e);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("Skipping event type {} that no longer applies: {}", type, e.getMessage());
+        }
+    }
+    
+    // Take a snapshot now; returns the first log segment it does not cover
+    public long snapshot() throws IOException {
+        // Brief pause, independent of how many games and players there are: with stats
+        // updates, games and appends all blocked, start a capture and a new log segment.
+        // The tail then holds exactly the changes made after this point.
+        long pauseStarted = System.nanoTime();
+        Capture capture = playerService.withStatsUpdatesBlocked(() -> gameService.withAllGamesLocked(
+            () -> eventLog.withAppendsBlocked(() -> {
+                Capture started = new Capture(PlayerStats.beginCapture(), eventLog.rotate());
+                this.capture = started;
+                return started;
+            })));
+        snapshotPause.record(System.nanoTime() - pauseStarted, TimeUnit.NANOSECONDS);
+        
+        // Then walk games and players without stopping anyone, recording each as it was
+        // at the pause (see Capture)
+        List<GameState> games;
+        List<PlayerMark> players;
+        try {
+            games = captureGames(capture);
+            players = new ArrayList<>();
+            for (Player player : playerService.findAll()) {
+                players.add(new PlayerMark(player, player.getStats().takeCaptured(capture.epoch())));
+            }
+        } finally {
+            this.capture = null;
+        }
+        
+        Path target = directory.resolve(String.format("snapshot-%020d.bin", capture.replayFrom()));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp), 1 << 16)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(capture.replayFrom());
+            out.writeInt(players.size());
+            for (PlayerMark mark : players) {
+                StateCodec.writePlayer(out, mark.player(), mark.stats());
+            }
+            out.writeInt(games.size());
+            for (GameState game : games) {
+                StateCodec.writeGame(out, game);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        
+        // The new snapshot supersedes older snapshots and the segments they needed
+        for (long older : snapshotNumbers()) {
+            if (older < capture.replayFrom()) {
+                Files.deleteIfExists(snapshotPath(older));
+            }
+        }
+        eventLog.deleteBefore(capture.replayFrom());
+        log.info("Snapshot of {} players and {} games written to {}", players.size(), games.size(), target);
+        return capture.replayFrom();
+    }
+    
+    // Every game as it was when the capture started: live games are read one at a time
+    // under their own lock, cut back to the seats and moves they had then; games deleted
+    // since were saved by onGameDeleted
+    private List<GameState> captureGames(Capture capture) {
+        List<GameState> games = new ArrayList<>();
+        Iterator<Game> live = gameService.iterate(GameService.GameQuery.all());
+        while (live.hasNext()) {
+            String id = live.next().getId();
+            gameService.readGame(id, game -> {
+                GameMark mark = capture.marks().put(id, GameMark.TAKEN);
+                if (mark == null) {
+                    return GameState.of(game); // Unchanged since the capture started
+                }
+                return mark == GameMark.CREATED_SINCE || mark == GameMark.TAKEN
+                    ? null : GameState.of(game, mark.seats(), mark.moves());
+            }).ifPresent(games::add);
+        }
+        games.addAll(capture.deleted());
+        return games;
+    }
+    
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Snapshot failed; will retry at the next interval", e);
+        }
+    }
+    
+    // Load the newest snapshot, if any; returns the first log segment to replay
+    private long loadLatestSnapshot() throws IOException {
+        List<Long> snapshots = snapshotNumbers();
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        Path file = snapshotPath(snapshots.get(snapshots.size() - 1));
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unrecognized snapshot format: " + file);
+            }
+            long replayFrom = in.readLong();
+            int players = in.readInt();
+            for (int i = 0; i < players; i++) {
+                playerService.restorePlayer(StateCodec.readPlayer(in));
+            }
+            int games = in.readInt();
+            for (int i = 0; i < games; i++) {
+                gameService.restoreGame(StateCodec.readGame(in).restore(this::resolvePlayer));
+            }
+            return replayFrom;
+        }
+    }
+    
+    private List<Long> snapshotNumbers() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return numbers;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SNAPSHOT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    numbers.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+    
+    private Path snapshotPath(long replayFrom) {
+        return directory.resolve(String.format("snapshot-%020d.bin", replayFrom));
+    }
+    
+    // Seated players that were deleted still need an identity in their old games
+    private Player resolvePlayer(String id) {
+        return playerService.findById(id).orElseGet(() -> {
+            Player placeholder = new Player();
+            placeholder.setId(id);
+            return placeholder;
+        });
+    }
+    
+    // A game's seat and move counts when the capture started
+    private record GameMark(int seats, int moves) {
+        
+        // A game created after the capture started (the tail holds all of it), and a game
+        // the capture has already recorded
+        static final GameMark CREATED_SINCE = new GameMark(-1, -1);
+        static final GameMark TAKEN = new GameMark(-2, -2);
+    }
+    
+    private record PlayerMark(Player player, PlayerStats stats) {
+    }
+    
+    // A snapshot in progress. Until the walk has read a game, the first change to it
+    // records the counts it had before the change (under the game's lock), so the walk
+    // can cut it back; player stats keep their own copies (PlayerStats.capture).
+    private record Capture(long epoch, long replayFrom, Map<String, GameMark> marks, List<GameState> deleted) {
+        
+        Capture(long epoch, long replayFrom) {
+            this(epoch, replayFrom, new ConcurrentHashMap<>(), Collections.synchronizedList(new ArrayList<>()));
+        }
+    }
+}
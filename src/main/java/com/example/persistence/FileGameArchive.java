@@ -0,0 +1,215 @@
+package com.example.persistence;
+
+import com.example.model.Game;
+import com.example.model.Player;
+import com.example.persistence.StateCodec.GameState;
+import com.example.service.GameArchive;
+import com.example.service.PlayerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Archive of finished games in one append-only file. Each record is
+ * {@code [int length][byte type][UTF id][deflated game]}, the game encoded with
+ * {@link StateCodec} (rules, seats and packed move log). Only an ID -> file offset map
+ * stays on the heap; a lookup reads and inflates one record and replays its moves.
+ *
+ * Deleting an archived game appends a tombstone. Replaced and deleted records are not
+ * reclaimed; the file is rebuilt from scratch by removing it while the app is stopped
+ * (games still in the database or event log are archived again).
+ */
+@Component
+@ConditionalOnProperty(name = "game.archive.enabled", havingValue = "true")
+public class FileGameArchive implements GameArchive {
+    
+    private static final Logger log = LoggerFactory.getLogger(FileGameArchive.class);
+    
+    private static final byte GAME = 1;
+    private static final byte TOMBSTONE = 2;
+    
+    private final PlayerService playerService;
+    private final Path file;
+    
+    // Game ID -> offset of its latest record
+    private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+    
+    // Serializes appends; lookups use positional reads and take no lock
+    private final ReentrantLock appendLock = new ReentrantLock();
+    
+    private FileChannel channel;
+    private long end;
+    
+    public FileGameArchive(PlayerService playerService,
+                           @Value("${game.archive.dir:./data/archive}") String directory) {
+        this.playerService = playerService;
+        this.file = Paths.get(directory).resolve("games.archive");
+    }
+    
+    // Open the archive and index its records, dropping a record cut short by a crash
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(file.getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        long size = channel.size();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (end + Integer.BYTES <= size) {
+                int length = in.readInt();
+                if (length <= 0 || end + Integer.BYTES + length > size) {
+                    break;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                byte type = record[0];
+                String id = new DataInputStream(new ByteArrayInputStream(record, 1, length - 1)).readUTF();
+                if (type == GAME) {
+                    offsets.put(id, end);
+                } else {
+                    offsets.remove(id);
+                }
+                end += Integer.BYTES + length;
+            }
+        }
+        if (end < size) {
+            log.warn("Truncating {} bytes of incomplete archive record in {}", size - end, file);
+            channel.truncate(end);
+        }
+        log.info("Opened game archive {} with {} games", file, offsets.size());
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+    
+    @Override
+    public void store(Game game) {
+        byte[] compressed = compress(GameState.of(game));
+        append(GAME, game.getId(), compressed);
+    }
+    
+    @Override
+    public Optional<Game> find(String id) {
+        Long offset = offsets.get(id);
+        if (offset == null) {
+            return Optional.empty();
+        }
+        try {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(header, offset);
+            ByteBuffer record = ByteBuffer.allocate(header.flip().getInt());
+            channel.read(record, offset + Integer.BYTES);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.array()));
+            in.readByte();
+            in.readUTF();
+            GameState state = StateCodec.readGame(new DataInputStream(new InflaterInputStream(in)));
+            return Optional.of(state.restore(this::resolvePlayer));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public boolean contains(String id) {
+        return offsets.containsKey(id);
+    }
+    
+    @Override
+    public boolean remove(String id) {
+        appendLock.lock();
+        try {
+            if (!offsets.containsKey(id)) {
+                return false;
+            }
+            append(TOMBSTONE, id, new byte[0]);
+            return true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+    
+    @Override
+    public long size() {
+        return offsets.size();
+    }
+    
+    // Flush archived records to disk
+    public void force() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void append(byte type, String id, byte[] body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0); // Length, filled in below
+            out.writeByte(type);
+            out.writeUTF(id);
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+        record.putInt(0, record.capacity() - Integer.BYTES);
+        
+        appendLock.lock();
+        try {
+            long offset = end;
+            while (record.hasRemaining()) {
+                channel.write(record, offset + record.position());
+            }
+            end += record.capacity();
+            if (type == GAME) {
+                offsets.put(id, offset);
+            } else {
+                offsets.remove(id);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+    
+    private static byte[] compress(GameState game) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            StateCodec.writeGame(out, game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    // Seat the archived game's players; deleted players get an ID-only placeholder
+    private Player resolvePlayer(String id) {
+        return playerService.findById(id).orElseGet(() -> {
+            Player placeholder = new Player();
+            placeholder.setId(id);
+            return placeholder;
+        });
+    }
+}
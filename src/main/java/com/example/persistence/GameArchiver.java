@@ -0,0 +1,80 @@
+package com.example.persistence;
+
+import com.example.service.GameService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retention policy for finished games: every sweep interval, games that ended more than
+ * the TTL ago move from the live map to the {@link FileGameArchive}, so memory and list
+ * scans are bounded by recent and in-progress games rather than all games ever played.
+ */
+@Component
+@ConditionalOnProperty(name = "game.archive.enabled", havingValue = "true")
+public class GameArchiver {
+    
+    private static final Logger log = LoggerFactory.getLogger(GameArchiver.class);
+    
+    private final GameService gameService;
+    private final FileGameArchive archive;
+    private final long ttlMs;
+    private final long sweepIntervalMs;
+    
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "game-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public GameArchiver(GameService gameService, FileGameArchive archive,
+                        @Value("${game.archive.ttl-ms:3600000}") long ttlMs,
+                        @Value("${game.archive.sweep-interval-ms:60000}") long sweepIntervalMs) {
+        if (ttlMs < 0 || sweepIntervalMs <= 0) {
+            throw new IllegalArgumentException("Archive TTL must not be negative and sweep interval must be positive");
+        }
+        this.gameService = gameService;
+        this.archive = archive;
+        this.ttlMs = ttlMs;
+        this.sweepIntervalMs = sweepIntervalMs;
+    }
+    
+    @PostConstruct
+    public void start() {
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        sweeper.shutdown();
+        sweeper.awaitTermination(sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    // Archive every finished game past the TTL; returns how many were moved
+    public int sweep() {
+        try {
+            long started = System.nanoTime();
+            int archived = gameService.archiveFinishedGames(LocalDateTime.now().minus(Duration.ofMillis(ttlMs)));
+            archive.force();
+            if (archived > 0) {
+                log.info("Archived {} finished games in {} ms", archived,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            }
+            return archived;
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; unarchived games are retried next sweep
+            log.warn("Archive sweep failed", e);
+            return 0;
+        }
+    }
+}
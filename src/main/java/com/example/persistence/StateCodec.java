@@ -0,0 +1,168 @@
+package com.example.persistence;
+
+import com.example.model.Game;
+import com.example.model.Player;
+import com.example.model.PlayerStats;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compact binary encoding of players and games for snapshots and event payloads.
+ * Games are stored as their rules, seats and packed move log; everything else is
+ * rebuilt by {@link Game#restore}.
+ */
+public final class StateCodec {
+    
+    private static final int NULL_STRING = 0xFFFF;
+    
+    private StateCodec() {
+    }
+    
+    // Everything needed to restore a game, copied while holding the game's lock
+    public record GameState(String id, String name, int rows, int cols, int winLength,
+                            List<String> playerIds, long[] moveLog,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        
+        // Capture a game, keeping only the first seats and moves (a consistent prefix)
+        public static GameState of(Game game, int seats, int moves) {
+            List<String> playerIds = new ArrayList<>(seats);
+            for (int i = 0; i < seats; i++) {
+                playerIds.add(game.getPlayers().get(i).getId());
+            }
+            long[] moveLog = game.getMoveLog();
+            if (moveLog.length > moves) {
+                moveLog = Arrays.copyOf(moveLog, moves);
+            }
+            return new GameState(game.getId(), game.getName(), game.getRows(), game.getCols(),
+                game.getWinLength(), playerIds, moveLog, game.getCreatedAt(), game.getUpdatedAt());
+        }
+        
+        public static GameState of(Game game) {
+            return of(game, game.getPlayers().size(), game.getMoveCount());
+        }
+        
+        public Game restore(Function<String, Player> players) {
+            List<Player> seated = new ArrayList<>(playerIds.size());
+            playerIds.forEach(id -> seated.add(players.apply(id)));
+            return Game.restore(id, name, rows, cols, winLength, seated, moveLog, moveLog.length,
+                createdAt, updatedAt);
+        }
+    }
+    
+    public static void writeGame(DataOutput out, GameState game) throws IOException {
+        out.writeUTF(game.id());
+        writeNullableUTF(out, game.name());
+        out.writeByte(game.rows());
+        out.writeByte(game.cols());
+        out.writeByte(game.winLength());
+        out.writeByte(game.playerIds().size());
+        for (String playerId : game.playerIds()) {
+            out.writeUTF(playerId);
+        }
+        out.writeShort(game.moveLog().length);
+        for (long entry : game.moveLog()) {
+            out.writeLong(entry);
+        }
+        out.writeLong(toEpochMilli(game.createdAt()));
+        out.writeLong(toEpochMilli(game.updatedAt()));
+    }
+    
+    public static GameState readGame(DataInput in) throws IOException {
+        String id = in.readUTF();
+        String name = readNullableUTF(in);
+        int rows = in.readUnsignedByte();
+        int cols = in.readUnsignedByte();
+        int winLength = in.readUnsignedByte();
+        int seats = in.readUnsignedByte();
+        List<String> playerIds = new ArrayList<>(seats);
+        for (int i = 0; i < seats; i++) {
+            playerIds.add(in.readUTF());
+        }
+        long[] moveLog = new long[in.readUnsignedShort()];
+        for (int i = 0; i < moveLog.length; i++) {
+            moveLog[i] = in.readLong();
+        }
+        return new GameState(id, name, rows, cols, winLength, playerIds, moveLog,
+            fromEpochMilli(in.readLong()), fromEpochMilli(in.readLong()));
+    }
+    
+    public static void writePlayer(DataOutput out, Player player, PlayerStats stats) throws IOException {
+        out.writeUTF(player.getId());
+        writeNullableUTF(out, player.getName());
+        writeNullableUTF(out, player.getEmail());
+        out.writeInt(stats.getGamesPlayed());
+        out.writeInt(stats.getGamesWon());
+        out.writeInt(stats.getGamesLost());
+        out.writeInt(stats.getGamesDrawn());
+        out.writeInt(stats.getTotalMoves());
+        out.writeLong(toEpochMilli(player.getCreatedAt()));
+        out.writeLong(toEpochMilli(player.getUpdatedAt()));
+    }
+    
+    public static Player readPlayer(DataInput in) throws IOException {
+        String id = in.readUTF();
+        Player player = new Player(readNullableUTF(in), readNullableUTF(in));
+        player.setId(id);
+        player.setStats(new PlayerStats(in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+            in.readInt(), 0.0, 0.0, 0.0));
+        player.setCreatedAt(fromEpochMilli(in.readLong()));
+        player.setUpdatedAt(fromEpochMilli(in.readLong()));
+        return player;
+    }
+    
+    // Length-prefixed UTF-8 strings for event payloads: an unsigned 16-bit length, with
+    // 0xFFFF meaning null. Longer strings are refused rather than silently truncated.
+    public static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_STRING) {
+            throw new IllegalArgumentException("String of " + bytes.length + " bytes is too long to encode");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+    
+    public static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    // Timestamps are stored as millis of the local date-time read as UTC (no zone shift)
+    public static long toEpochMilli(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    public static LocalDateTime fromEpochMilli(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+            Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+    
+    private static void writeNullableUTF(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+    
+    private static String readNullableUTF(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
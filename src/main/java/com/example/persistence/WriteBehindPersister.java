@@ -0,0 +1,211 @@
+package com.example.persistence;
+
+import com.example.model.Game;
+import com.example.model.Player;
+import com.example.repository.JdbcGameStore;
+import com.example.repository.JdbcGameStore.GameRow;
+import com.example.repository.JdbcGameStore.PlayerRow;
+import com.example.service.GameEventListener;
+import com.example.service.GameService;
+import com.example.service.PlayerEventListener;
+import com.example.service.PlayerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Write-behind persistence: the in-memory services stay the hot tier, and changed games
+ * and players are only marked dirty on the request path. A background thread flushes
+ * dirty entities to the database in JDBC batches every flush interval, or sooner once
+ * a batch fills, so at most one interval of changes is lost on a crash.
+ */
+@Component
+@ConditionalOnProperty(name = "game.persistence.write-behind.enabled", havingValue = "true")
+public class WriteBehindPersister implements GameEventListener, PlayerEventListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindPersister.class);
+    
+    private final GameService gameService;
+    private final PlayerService playerService;
+    private final JdbcGameStore store;
+    private final long flushIntervalMs;
+    private final int batchSize;
+    
+    // Dirty and deleted entity IDs; sets collapse repeated changes into one write
+    private final Set<String> dirtyGames = ConcurrentHashMap.newKeySet();
+    private final Set<String> deletedGames = ConcurrentHashMap.newKeySet();
+    private final Set<String> dirtyPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<String> deletedPlayers = ConcurrentHashMap.newKeySet();
+    
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "write-behind-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    
+    public WriteBehindPersister(GameService gameService, PlayerService playerService, JdbcGameStore store,
+                                @Value("${game.persistence.write-behind.flush-interval-ms:1000}") long flushIntervalMs,
+                                @Value("${game.persistence.write-behind.batch-size:500}") int batchSize) {
+        if (flushIntervalMs <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Flush interval and batch size must be positive");
+        }
+        this.gameService = gameService;
+        this.playerService = playerService;
+        this.store = store;
+        this.flushIntervalMs = flushIntervalMs;
+        this.batchSize = batchSize;
+    }
+    
+    // Load stored state into the services, then start tracking changes
+    @PostConstruct
+    public void start() {
+        List<Player> players = store.loadPlayers();
+        players.forEach(playerService::restorePlayer);
+        List<Game> games = store.loadGames(this::resolvePlayer);
+        games.forEach(gameService::restoreGame);
+        log.info("Loaded {} players and {} games from the database", players.size(), games.size());
+        
+        gameService.addListener(this);
+        playerService.addListener(this);
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    // Stop the background flusher and write out everything still pending
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(flushIntervalMs * 10, TimeUnit.MILLISECONDS);
+        flush();
+    }
+    
+    @Override
+    public void onGameCreated(Game game) {
+        markDirty(dirtyGames, game.getId());
+    }
+    
+    @Override
+    public void onPlayerJoined(Game game, Player player) {
+        markDirty(dirtyGames, game.getId());
+    }
+    
+    @Override
+    public void onMove(Game game, Player player, int position) {
+        markDirty(dirtyGames, game.getId());
+        // Moves change the mover's stats, and the final move changes both players'
+        game.getPlayers().forEach(p -> markDirty(dirtyPlayers, p.getId()));
+    }
+    
+    @Override
+    public void onGameDeleted(Game game) {
+        deletedGames.add(game.getId());
+        dirtyGames.remove(game.getId());
+    }
+    
+    @Override
+    public void onPlayerSaved(Player player) {
+        markDirty(dirtyPlayers, player.getId());
+    }
+    
+    @Override
+    public void onStatsRecorded(Player player, boolean won, boolean drawn, int movesMade) {
+        markDirty(dirtyPlayers, player.getId());
+    }
+    
+    @Override
+    public void onPlayerDeleted(Player player) {
+        deletedPlayers.add(player.getId());
+        dirtyPlayers.remove(player.getId());
+    }
+    
+    // Number of entities waiting to be written
+    public int getPendingCount() {
+        return dirtyGames.size() + deletedGames.size() + dirtyPlayers.size() + deletedPlayers.size();
+    }
+    
+    private void markDirty(Set<String> dirty, String id) {
+        if (dirty.add(id) && dirty.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the final flush in stop() picks this up
+            }
+        }
+    }
+    
+    // Write all pending changes. Runs on the flusher thread (and once more on shutdown).
+    void flush() {
+        flushRequested.set(false);
+        try {
+            // Player deletes go first so a freed email can be taken by an upserted player
+            write(deletedPlayers, Optional::of, store::deletePlayers);
+            write(dirtyPlayers, id -> playerService.findById(id).map(PlayerRow::of), store::upsertPlayers);
+            write(dirtyGames, id -> gameService.readGame(id, GameRow::of), store::upsertGames);
+            write(deletedGames, Optional::of, store::deleteGames);
+        } catch (RuntimeException e) {
+            log.warn("Write-behind flush failed; pending changes will be retried", e);
+        }
+    }
+    
+    // Drain IDs from a pending set and write them in batches. IDs are removed before
+    // their state is read, so a change racing with the flush re-marks them. A failed
+    // batch is put back for the next flush.
+    private <T> void write(Set<String> pending, Function<String, Optional<T>> toRow, Consumer<List<T>> writer) {
+        List<String> ids = new ArrayList<>(batchSize);
+        List<T> rows = new ArrayList<>(batchSize);
+        for (Iterator<String> it = pending.iterator(); it.hasNext(); ) {
+            String id = it.next();
+            it.remove();
+            Optional<T> row = toRow.apply(id);
+            if (row.isEmpty()) {
+                continue; // Deleted since it was marked
+            }
+            ids.add(id);
+            rows.add(row.get());
+            if (rows.size() == batchSize) {
+                writeBatch(pending, ids, rows, writer);
+                ids = new ArrayList<>(batchSize);
+                rows = new ArrayList<>(batchSize);
+            }
+        }
+        if (!rows.isEmpty()) {
+            writeBatch(pending, ids, rows, writer);
+        }
+    }
+    
+    private <T> void writeBatch(Set<String> pending, List<String> ids, List<T> rows, Consumer<List<T>> writer) {
+        try {
+            writer.accept(rows);
+        } catch (RuntimeException e) {
+            pending.addAll(ids);
+            throw e;
+        }
+    }
+    
+    // Seated players that were deleted still need an identity in their old games
+    private Player resolvePlayer(String id) {
+        return playerService.findById(id).orElseGet(() -> {
+            Player placeholder = new Player();
+            placeholder.setId(id);
+            return placeholder;
+        });
+    }
+}
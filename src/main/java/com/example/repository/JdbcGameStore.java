@@ -0,0 +1,187 @@
+package com.example.repository;
+
+import com.example.model.Game;
+import com.example.model.Player;
+import com.example.model.PlayerStats;
+import org.apache.commons.lang3.ArrayUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Batched JDBC access to the games/players tables generated from the JPA entities.
+ * Used by write-behind persistence, where per-entity JPA merges would be too slow.
+ */
+@Repository
+public class JdbcGameStore {
+    
+    private static final String UPSERT_PLAYER =
+        "MERGE INTO players (id, name, email, games_played, games_won, games_lost, games_drawn, "
+            + "total_moves, average_moves_per_win, win_rate, efficiency, created_at, updated_at) "
+            + "KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String UPSERT_GAME =
+        "MERGE INTO games (id, name, status, board_rows, board_cols, win_length, x_bits, o_bits, "
+            + "move_log, move_count, current_player_id, winner_id, created_at, updated_at) "
+            + "KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String DELETE_GAME_PLAYERS = "DELETE FROM game_players WHERE game_id = ?";
+    private static final String INSERT_GAME_PLAYER =
+        "INSERT INTO game_players (game_id, player_order, player_id) VALUES (?, ?, ?)";
+    private static final String DELETE_GAME = "DELETE FROM games WHERE id = ?";
+    private static final String DELETE_PLAYER = "DELETE FROM players WHERE id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    public JdbcGameStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    // Insert or update a batch of players in one transaction
+    public void upsertPlayers(List<PlayerRow> rows) {
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(UPSERT_PLAYER, rows, rows.size(), (ps, row) -> {
+                ps.setString(1, row.id());
+                ps.setString(2, row.name());
+                ps.setString(3, row.email());
+                ps.setInt(4, row.gamesPlayed());
+                ps.setInt(5, row.gamesWon());
+                ps.setInt(6, row.gamesLost());
+                ps.setInt(7, row.gamesDrawn());
+                ps.setInt(8, row.totalMoves());
+                ps.setDouble(9, row.averageMovesPerWin());
+                ps.setDouble(10, row.winRate());
+                ps.setDouble(11, row.efficiency());
+                ps.setObject(12, row.createdAt());
+                ps.setObject(13, row.updatedAt());
+            }));
+    }
+    
+    // Insert or update a batch of games (and their seatings) in one transaction
+    public void upsertGames(List<GameRow> rows) {
+        List<Object[]> seats = new ArrayList<>(rows.size() * 2);
+        List<Object[]> gameIds = new ArrayList<>(rows.size());
+        for (GameRow row : rows) {
+            gameIds.add(new Object[] {row.id()});
+            for (int i = 0; i < row.playerIds().size(); i++) {
+                seats.add(new Object[] {row.id(), i, row.playerIds().get(i)});
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPSERT_GAME, rows, rows.size(), (ps, row) -> {
+                ps.setString(1, row.id());
+                ps.setString(2, row.name());
+                ps.setString(3, row.status().name());
+                ps.setInt(4, row.rows());
+                ps.setInt(5, row.cols());
+                ps.setInt(6, row.winLength());
+                ps.setObject(7, ArrayUtils.toObject(row.xBits()));
+                ps.setObject(8, ArrayUtils.toObject(row.oBits()));
+                ps.setObject(9, ArrayUtils.toObject(row.moveLog()));
+                ps.setInt(10, row.moveLog().length);
+                ps.setString(11, row.currentPlayerId());
+                ps.setString(12, row.winnerId());
+                ps.setObject(13, row.createdAt());
+                ps.setObject(14, row.updatedAt());
+            });
+            jdbcTemplate.batchUpdate(DELETE_GAME_PLAYERS, gameIds);
+            jdbcTemplate.batchUpdate(INSERT_GAME_PLAYER, seats);
+        });
+    }
+    
+    public void deleteGames(List<String> ids) {
+        List<Object[]> args = ids.stream().map(id -> new Object[] {id}).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(DELETE_GAME_PLAYERS, args);
+            jdbcTemplate.batchUpdate(DELETE_GAME, args);
+        });
+    }
+    
+    public void deletePlayers(List<String> ids) {
+        List<Object[]> args = ids.stream().map(id -> new Object[] {id}).toList();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(DELETE_PLAYER, args));
+    }
+    
+    // Load every stored player
+    public List<Player> loadPlayers() {
+        return jdbcTemplate.query("SELECT * FROM players", (rs, rowNum) -> {
+            Player player = new Player(rs.getString("name"), rs.getString("email"));
+            player.setId(rs.getString("id"));
+            player.setStats(new PlayerStats(rs.getInt("games_played"), rs.getInt("games_won"),
+                rs.getInt("games_lost"), rs.getInt("games_drawn"), rs.getInt("total_moves"),
+                0.0, 0.0, 0.0));
+            player.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+            player.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+            return player;
+        });
+    }
+    
+    // Load every stored game, resolving seated player IDs through the given lookup
+    public List<Game> loadGames(Function<String, Player> players) {
+        Map<String, List<Player>> seats = new HashMap<>();
+        jdbcTemplate.query("SELECT game_id, player_id FROM game_players ORDER BY game_id, player_order",
+            rs -> {
+                seats.computeIfAbsent(rs.getString("game_id"), id -> new ArrayList<>(2))
+                    .add(players.apply(rs.getString("player_id")));
+            });
+        return jdbcTemplate.query("SELECT * FROM games", (rs, rowNum) -> {
+            String id = rs.getString("id");
+            long[] moveLog = toLongs(rs.getArray("move_log"));
+            return Game.restore(id, rs.getString("name"), rs.getInt("board_rows"),
+                rs.getInt("board_cols"), rs.getInt("win_length"),
+                seats.getOrDefault(id, List.of()), moveLog, rs.getInt("move_count"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class));
+        });
+    }
+    
+    private static long[] toLongs(Array array) throws SQLException {
+        Object[] values = (Object[]) array.getArray();
+        long[] longs = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            longs[i] = ((Number) values[i]).longValue();
+        }
+        return longs;
+    }
+    
+    // Point-in-time copy of a player's persisted columns
+    public record PlayerRow(String id, String name, String email, int gamesPlayed, int gamesWon,
+                            int gamesLost, int gamesDrawn, int totalMoves, double averageMovesPerWin,
+                            double winRate, double efficiency, LocalDateTime createdAt,
+                            LocalDateTime updatedAt) {
+        
+        public static PlayerRow of(Player player) {
+            PlayerStats stats = player.getStats();
+            return new PlayerRow(player.getId(), player.getName(), player.getEmail(),
+                stats.getGamesPlayed(), stats.getGamesWon(), stats.getGamesLost(),
+                stats.getGamesDrawn(), stats.getTotalMoves(), stats.getAverageMovesPerWin(),
+                stats.getWinRate(), stats.getEfficiency(), player.getCreatedAt(), player.getUpdatedAt());
+        }
+    }
+    
+    // Point-in-time copy of a game's persisted columns; take it under the game's lock
+    public record GameRow(String id, String name, Game.GameStatus status, int rows, int cols,
+                          int winLength, long[] xBits, long[] oBits, long[] moveLog,
+                          String currentPlayerId, String winnerId, List<String> playerIds,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        
+        public static GameRow of(Game game) {
+            return new GameRow(game.getId(), game.getName(), game.getStatus(), game.getRows(),
+                game.getCols(), game.getWinLength(), game.getXBits(), game.getOBits(),
+                game.getMoveLog(),
+                game.getCurrentPlayer() != null ? game.getCurrentPlayer().getId() : null,
+                game.getWinner() != null ? game.getWinner().getId() : null,
+                game.getPlayers().stream().map(Player::getId).toList(),
+                game.getCreatedAt(), game.getUpdatedAt());
+        }
+    }
+}
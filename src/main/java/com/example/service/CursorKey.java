@@ -0,0 +1,45 @@
+package com.example.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Position in a (createdAt, id) ordering. Creation times never change and IDs are
+ * unique, so the order is total and stable: a page that starts after a key sees every
+ * item still present exactly once, however the store changes between requests.
+ *
+ * Clients see keys as opaque cursors (URL-safe base64).
+ */
+public record CursorKey(LocalDateTime createdAt, String id) implements Comparable<CursorKey> {
+    
+    private static final Comparator<CursorKey> ORDER = Comparator
+        .comparing(CursorKey::createdAt)
+        .thenComparing(CursorKey::id);
+    
+    @Override
+    public int compareTo(CursorKey other) {
+        return ORDER.compare(this, other);
+    }
+    
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Parse a cursor from a client; throws IllegalArgumentException if it is malformed
+    public static CursorKey decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.indexOf('|');
+            if (split < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new CursorKey(LocalDateTime.parse(raw.substring(0, split)), raw.substring(split + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.service;
+
+import com.example.model.Game;
+
+import java.util.Optional;
+
+/**
+ * Cold storage for finished games evicted from {@link GameService}'s live map. Archived
+ * games never change again; they can still be found by ID and deleted.
+ */
+public interface GameArchive {
+    
+    // Add a finished game; storing an ID that is already archived replaces it
+    void store(Game game);
+    
+    Optional<Game> find(String id);
+    
+    boolean contains(String id);
+    
+    // Drop an archived game; false if it was not archived
+    boolean remove(String id);
+    
+    long size();
+}
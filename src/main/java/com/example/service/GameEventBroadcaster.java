@@ -0,0 +1,230 @@
+package com.example.service;
+
+import com.example.model.Game;
+import com.example.model.Player;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Pushes game events (joins, moves, game over, deletion) to server-sent event
+ * subscribers, so clients no longer poll status and board.
+ *
+ * Listener callbacks run under the game's lock and only enqueue: each subscriber has a
+ * bounded buffer drained by at most one task at a time, so a slow client never holds a
+ * game lock or another subscriber back. A subscriber whose buffer overflows is
+ * disconnected and can resubscribe to get the current state. Games without subscribers
+ * cost a map lookup per event and nothing when idle.
+ */
+@Service
+public class GameEventBroadcaster implements GameEventListener {
+    
+    private final GameService gameService;
+    private final int bufferSize;
+    private final long timeoutMs;
+    
+    // Game ID -> current subscribers
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    
+    // Drains run here, on at most sender-threads threads. Each subscriber has at most one
+    // drain queued or running, so the queue is bounded by the number of subscribers.
+    // Idle threads exit, so quiet streams hold no threads.
+    private final ThreadPoolExecutor senders;
+    
+    public GameEventBroadcaster(GameService gameService,
+                                @Value("${game.events.buffer-size:64}") int bufferSize,
+                                @Value("${game.events.timeout-ms:1800000}") long timeoutMs,
+                                @Value("${game.events.sender-threads:16}") int senderThreads) {
+        if (bufferSize <= 0 || senderThreads <= 0) {
+            throw new IllegalArgumentException("Event buffer size and sender threads must be positive");
+        }
+        this.gameService = gameService;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "game-event-sender");
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.senders.allowCoreThreadTimeOut(true);
+        gameService.addListener(this);
+    }
+    
+    // Open a stream for a game. The first event is the current state; it is captured
+    // under the game lock together with the registration, so no event is missed.
+    public Optional<SseEmitter> subscribe(String gameId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(gameId, emitter);
+        boolean found = gameService.readGame(gameId, game -> {
+            if (!isFinished(game)) {
+                // Add inside compute, so the subscriber cannot land in a set that close()
+                // is dropping for being empty
+                subscribers.compute(gameId, (id, set) -> {
+                    Set<Subscriber> current = set != null ? set : ConcurrentHashMap.newKeySet();
+                    current.add(subscriber);
+                    return current;
+                });
+            }
+            subscriber.enqueue(GameEvent.of("state", game, null, null));
+            return true;
+        }).isPresent();
+        if (!found) {
+            return Optional.empty();
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        return Optional.of(emitter);
+    }
+    
+    // Number of open streams for a game
+    public int getSubscriberCount(String gameId) {
+        return subscribers.getOrDefault(gameId, Set.of()).size();
+    }
+    
+    @Override
+    public void onPlayerJoined(Game game, Player player) {
+        publish(game.getId(), () -> List.of(GameEvent.of("joined", game, player, null)));
+    }
+    
+    @Override
+    public void onMove(Game game, Player player, int position) {
+        publish(game.getId(), () -> {
+            GameEvent move = GameEvent.of("move", game, player, position);
+            return isFinished(game) ? List.of(move, GameEvent.of("game-over", game, null, null)) : List.of(move);
+        });
+    }
+    
+    @Override
+    public void onGameDeleted(Game game) {
+        Set<Subscriber> removed = subscribers.remove(game.getId());
+        if (removed != null) {
+            GameEvent deleted = GameEvent.of("deleted", game, null, null);
+            removed.forEach(subscriber -> subscriber.enqueue(deleted));
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        senders.shutdownNow();
+    }
+    
+    // Build events only when someone is listening
+    private void publish(String gameId, Supplier<List<GameEvent>> events) {
+        Set<Subscriber> listening = subscribers.get(gameId);
+        if (listening == null || listening.isEmpty()) {
+            return;
+        }
+        List<GameEvent> batch = events.get();
+        for (Subscriber subscriber : listening) {
+            batch.forEach(subscriber::enqueue);
+        }
+        if (batch.get(batch.size() - 1).isTerminal()) {
+            subscribers.remove(gameId); // Finished games produce no more events
+        }
+    }
+    
+    private static boolean isFinished(Game game) {
+        return game.getStatus() == Game.GameStatus.COMPLETED || game.getStatus() == Game.GameStatus.DRAW;
+    }
+    
+    // Event payload; fields that do not apply to an event type are omitted
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record GameEvent(String type, String gameId, Game.GameStatus status, Integer moveCount,
+                            String playerId, Integer position, String currentPlayerId,
+                            String winnerId, List<String> board) {
+        
+        static GameEvent of(String type, Game game, Player player, Integer position) {
+            return new GameEvent(type, game.getId(), game.getStatus(), game.getMoveCount(),
+                player != null ? player.getId() : null, position,
+                game.getCurrentPlayer() != null ? game.getCurrentPlayer().getId() : null,
+                game.getWinner() != null ? game.getWinner().getId() : null,
+                "state".equals(type) ? game.getBoard() : null);
+        }
+        
+        // The stream ends after this event
+        boolean isTerminal() {
+            return "game-over".equals(type) || "deleted".equals(type)
+                || ("state".equals(type) && status != Game.GameStatus.WAITING && status != Game.GameStatus.ACTIVE);
+        }
+    }
+    
+    private final class Subscriber {
+        
+        private final String gameId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<GameEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        
+        Subscriber(String gameId, SseEmitter emitter) {
+            this.gameId = gameId;
+            this.emitter = emitter;
+        }
+        
+        void enqueue(GameEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                // Too slow to keep up: drop the stream rather than buffer without bound
+                close();
+                emitter.completeWithError(new IllegalStateException("Event buffer overflow"));
+                return;
+            }
+            scheduleDrain();
+        }
+        
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    close(); // Shutting down
+                }
+            }
+        }
+        
+        private void drain() {
+            try {
+                for (GameEvent event = buffer.poll(); event != null && !closed.get(); event = buffer.poll()) {
+                    emitter.send(SseEmitter.event().name(event.type()).data(event, MediaType.APPLICATION_JSON));
+                    if (event.isTerminal()) {
+                        close();
+                        emitter.complete();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(); // Client went away
+            } finally {
+                draining.set(false);
+                if (!buffer.isEmpty() && !closed.get()) {
+                    scheduleDrain();
+                }
+            }
+        }
+        
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                buffer.clear();
+                subscribers.computeIfPresent(gameId, (id, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+    }
+}
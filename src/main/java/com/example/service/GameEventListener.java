@@ -0,0 +1,26 @@
+package com.example.service;
+
+import com.example.model.Game;
+import com.example.model.Player;
+
+/**
+ * Callback for game state changes made through {@link GameService}.
+ *
+ * Callbacks run on the calling thread while the game's lock is held, so events for
+ * one game arrive in the order they were applied. Implementations must be quick and
+ * must not call back into GameService for the same game.
+ */
+public interface GameEventListener {
+
+    default void onGameCreated(Game game) {
+    }
+
+    default void onPlayerJoined(Game game, Player player) {
+    }
+
+    default void onMove(Game game, Player player, int position) {
+    }
+
+    default void onGameDeleted(Game game) {
+    }
+}
@@ -3,11 +3,27 @@ package com.example.service;
 import com.example.model.Game;
 import com.example.model.Player;
 import com.example.model.Move;
+import com.example.model.PerfectPlay;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 @Service
 public class GameService {
@@ -15,16 +31,197 @@ public class GameService {
     // In-memory storage for L2 (can be replaced with repository for L3)
     private final Map<String, Game> games = new ConcurrentHashMap<>();
     
+    // Secondary indexes (all games, status -> games, player ID -> games), kept in step with
+    // every status transition so list lookups cost O(result) instead of a full scan. Entries
+    // are ordered by (createdAt, id), which is what cursor pagination walks.
+    private final NavigableSet<CursorKey> gameOrder = new ConcurrentSkipListSet<>();
+    private final Map<Game.GameStatus, NavigableSet<CursorKey>> gamesByStatus = new EnumMap<>(Game.GameStatus.class);
+    private final Map<String, NavigableSet<CursorKey>> gamesByPlayer = new ConcurrentHashMap<>();
+    
+    // Striped per-game locks: mutations of one game are serialized (linearizable), while
+    // games on different stripes proceed in parallel. ReentrantLock rather than
+    // synchronized so a blocked caller never pins a carrier thread.
+    private static final int LOCK_STRIPES = 256;
+    private final ReentrantLock[] gameLocks = new ReentrantLock[LOCK_STRIPES];
+    
+    private final PlayerService playerService;
+    
+    // Where finished games go once they expire; null when archiving is off
+    private final GameArchive archive;
+    
+    private final List<GameEventListener> listeners = new CopyOnWriteArrayList<>();
+    
+    // Live games per status, counted as games change status so gauges never scan
+    private final Map<Game.GameStatus, AtomicLong> statusCounts = new EnumMap<>(Game.GameStatus.class);
+    
+    // Meters for the hot paths, created once so recording is a few atomic updates
+    private final Timer createTimer;
+    private final Timer matchTimer;
+    private final Timer joinTimer;
+    private final Timer moveTimer;
+    private final Timer aiMoveTimer;
+    private final Timer batchJoinTimer;
+    private final Timer batchMoveTimer;
+    private final Map<MoveRejection, Counter> rejections = new EnumMap<>(MoveRejection.class);
+    
+    // Without Spring, meters go to Micrometer's global registry (a no-op unless a
+    // registry has been added to it)
+    public GameService(PlayerService playerService) {
+        this(playerService, Optional.empty(), Metrics.globalRegistry);
+    }
+    
+    @Autowired
+    public GameService(PlayerService playerService, Optional<GameArchive> archive, MeterRegistry meterRegistry) {
+        this.playerService = playerService;
+        this.archive = archive.orElse(null);
+        this.createTimer = operationTimer(meterRegistry, "create");
+        this.matchTimer = operationTimer(meterRegistry, "match");
+        this.joinTimer = operationTimer(meterRegistry, "join");
+        this.moveTimer = operationTimer(meterRegistry, "move");
+        this.aiMoveTimer = operationTimer(meterRegistry, "ai_move");
+        this.batchJoinTimer = operationTimer(meterRegistry, "batch_join");
+        this.batchMoveTimer = operationTimer(meterRegistry, "batch_move");
+        for (MoveRejection reason : MoveRejection.values()) {
+            rejections.put(reason, Counter.builder("game.moves.rejected")
+                .description("Moves refused, by reason")
+                .tag("reason", reason.tag)
+                .register(meterRegistry));
+        }
+        for (Game.GameStatus status : Game.GameStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            statusCounts.put(status, count);
+            Gauge.builder("games.live", count, AtomicLong::get)
+                .description("Games in memory, by status")
+                .tag("status", status.name().toLowerCase())
+                .register(meterRegistry);
+        }
+        Gauge.builder("games.players.indexed", gamesByPlayer, Map::size)
+            .description("Players with at least one live game")
+            .register(meterRegistry);
+        if (this.archive != null) {
+            Gauge.builder("games.archived", this.archive, GameArchive::size)
+                .description("Finished games moved to the archive")
+                .register(meterRegistry);
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            gameLocks[i] = new ReentrantLock();
+        }
+        for (Game.GameStatus status : Game.GameStatus.values()) {
+            gamesByStatus.put(status, new ConcurrentSkipListSet<>());
+        }
+    }
+    
     // Create a new game
     public Game createGame(String name) {
-        Game game = new Game(name);
-        games.put(game.getId(), game);
+        return createTimer.record(() -> register(new Game(name), List.of()));
+    }
+    
+    // Create a new game with a custom board size and win length
+    public Game createGame(String name, int rows, int cols, int winLength) {
+        return createTimer.record(() -> register(new Game(name, rows, cols, winLength), List.of()));
+    }
+    
+    // Create a game with two players already seated, so it is ACTIVE from the moment it
+    // becomes visible; nobody can join it or see it waiting. Used by matchmaking.
+    public Game createMatch(String name, int rows, int cols, int winLength, Player first, Player second) {
+        if (first.getId().equals(second.getId())) {
+            throw new IllegalArgumentException("A player cannot be matched with themselves");
+        }
+        return matchTimer.record(() -> register(new Game(name, rows, cols, winLength), List.of(first, second)));
+    }
+    
+    // Assign an ID, seat the given players and add the new game to the store and indexes.
+    // Seating happens before the game is published; events follow the usual order.
+    private Game register(Game game, List<Player> seats) {
+        Game.validateName(game.getName());
+        game.setId(UUID.randomUUID().toString());
+        seats.forEach(game::addPlayer);
+        ReentrantLock lock = lockFor(game.getId());
+        lock.lock();
+        try {
+            games.put(game.getId(), game);
+            gameOrder.add(keyOf(game));
+            gamesByStatus.get(game.getStatus()).add(keyOf(game));
+            statusCounts.get(game.getStatus()).incrementAndGet();
+            for (Player player : seats) {
+                indexPlayer(player, game);
+            }
+            listeners.forEach(listener -> listener.onGameCreated(game));
+            for (Player player : seats) {
+                listeners.forEach(listener -> listener.onPlayerJoined(game, player));
+            }
+        } finally {
+            lock.unlock();
+        }
         return game;
     }
     
+    // Put back a game loaded from storage, with its index entries; no events are fired.
+    // Games that have since been archived stay in the archive.
+    public void restoreGame(Game game) {
+        if (archive != null && archive.contains(game.getId())) {
+            return;
+        }
+        ReentrantLock lock = lockFor(game.getId());
+        lock.lock();
+        try {
+            Game previous = games.put(game.getId(), game);
+            if (previous != null) {
+                gameOrder.remove(keyOf(previous));
+                gamesByStatus.get(previous.getStatus()).remove(keyOf(previous));
+                statusCounts.get(previous.getStatus()).decrementAndGet();
+            }
+            gameOrder.add(keyOf(game));
+            gamesByStatus.get(game.getStatus()).add(keyOf(game));
+            statusCounts.get(game.getStatus()).incrementAndGet();
+            for (Player player : game.getPlayers()) {
+                indexPlayer(player, game);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // Register a listener for game events
+    public void addListener(GameEventListener listener) {
+        listeners.add(listener);
+    }
+    
+    // Run an action while every game is locked, so no game changes (or is created or
+    // deleted) until it returns. Keep the action short: all game traffic waits on it.
+    public <T> T withAllGamesLocked(Supplier<T> action) {
+        int locked = 0;
+        try {
+            for (; locked < LOCK_STRIPES; locked++) {
+                gameLocks[locked].lock();
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                gameLocks[i].unlock();
+            }
+        }
+    }
+    
+    // Read a consistent view of a game while holding its lock
+    public <T> Optional<T> readGame(String gameId, Function<Game, T> reader) {
+        if (gameId == null || !games.containsKey(gameId)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(withGameLock(gameId, reader));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty(); // Deleted while waiting for the lock
+        }
+    }
+    
     // Get game by ID
     public Optional<Game> findById(String id) {
-        return Optional.ofNullable(games.get(id));
+        Game game = games.get(id);
+        if (game == null && archive != null && id != null) {
+            return archive.find(id);
+        }
+        return Optional.ofNullable(game);
     }
     
     // Get all games
@@ -34,7 +231,7 @@ public class GameService {
     
     // Get games by status
     public List<Game> findByStatus(Game.GameStatus status) {
-        return games.values().stream()
+        return resolve(gamesByStatus.get(status)).stream()
             .filter(game -> game.getStatus() == status)
             .collect(Collectors.toList());
     }
@@ -51,17 +248,76 @@ public class GameService {
     
     // Get completed games
     public List<Game> getCompletedGames() {
-        return games.values().stream()
-            .filter(game -> game.getStatus() == Game.GameStatus.COMPLETED || 
-                          game.getStatus() == Game.GameStatus.DRAW)
-            .collect(Collectors.toList());
+        List<Game> completed = findByStatus(Game.GameStatus.COMPLETED);
+        completed.addAll(findByStatus(Game.GameStatus.DRAW));
+        return completed;
+    }
+    
+    // One page of the games matching a query, in (createdAt, id) order, starting after
+    // the cursor (null for the first page). Costs O(limit), not O(matching games).
+    public Page<Game> findPage(GameQuery query, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        CursorKey after = cursor != null ? CursorKey.decode(cursor) : null;
+        Iterator<CursorKey> keys = keys(query, after);
+        List<Game> items = new ArrayList<>(Math.min(limit, 1024));
+        CursorKey last = null;
+        while (items.size() < limit && keys.hasNext()) {
+            CursorKey key = keys.next();
+            Game game = games.get(key.id());
+            if (game != null && query.matches(game)) {
+                items.add(game);
+                last = key;
+            }
+        }
+        return new Page<>(items, keys.hasNext() && last != null ? last.encode() : null);
+    }
+    
+    // Lazily walk every game matching a query in (createdAt, id) order. The walk is weakly
+    // consistent: games created or deleted meanwhile may or may not be seen, none twice.
+    public Iterator<Game> iterate(GameQuery query) {
+        Iterable<CursorKey> keys = () -> keys(query, null);
+        return StreamSupport.stream(keys.spliterator(), false)
+            .map(key -> games.get(key.id()))
+            .filter(game -> game != null && query.matches(game))
+            .iterator();
+    }
+    
+    // Index keys for a query after the given position, merged into one ordered sequence
+    private Iterator<CursorKey> keys(GameQuery query, CursorKey after) {
+        List<NavigableSet<CursorKey>> sources = new ArrayList<>();
+        if (query.playerId() != null) {
+            sources.add(gamesByPlayer.getOrDefault(query.playerId(), Collections.emptyNavigableSet()));
+        } else if (query.statuses().isEmpty()) {
+            sources.add(gameOrder);
+        } else {
+            query.statuses().forEach(status -> sources.add(gamesByStatus.get(status)));
+        }
+        List<Iterator<CursorKey>> iterators = new ArrayList<>(sources.size());
+        for (NavigableSet<CursorKey> source : sources) {
+            iterators.add((after != null ? source.tailSet(after, false) : source).iterator());
+        }
+        return iterators.size() == 1 ? iterators.get(0) : new MergedKeys(iterators);
     }
     
     // Add player to game
     public boolean addPlayerToGame(String gameId, Player player) {
-        Game game = findById(gameId)
-            .orElseThrow(() -> new IllegalArgumentException("Game not found"));
-        
+        return joinTimer.record(() -> withGameLock(gameId, game -> join(game, player)));
+    }
+    
+    // Add players to games in bulk. Joins are grouped by game and each game's joins are
+    // applied in request order under one lock acquisition; results are in request order.
+    public List<BatchResult> addPlayersToGames(List<JoinCommand> joins) {
+        return batchJoinTimer.record(() -> applyBatch(joins, JoinCommand::gameId, (game, join) -> {
+            Player player = playerService.findById(join.playerId())
+                .orElseThrow(() -> new IllegalArgumentException("Player not found"));
+            return join(game, player);
+        }, "Player is already in this game"));
+    }
+    
+    // Seat a player; caller holds the game's lock
+    private boolean join(Game game, Player player) {
         if (game.getStatus() != Game.GameStatus.WAITING) {
             throw new IllegalStateException("Game is not accepting new players");
         }
@@ -70,28 +326,144 @@ public class GameService {
             throw new IllegalStateException("Game is full");
         }
         
-        return game.addPlayer(player);
+        Game.GameStatus before = game.getStatus();
+        boolean joined = game.addPlayer(player);
+        if (joined) {
+            indexPlayer(player, game);
+            updateStatusIndex(game, before);
+            listeners.forEach(listener -> listener.onPlayerJoined(game, player));
+        }
+        return joined;
     }
     
     // Make a move in a game
     public boolean makeMove(String gameId, String playerId, int position) {
-        Game game = findById(gameId)
-            .orElseThrow(() -> new IllegalArgumentException("Game not found"));
+        return makeMove(gameId, playerId, position, LocalDateTime.now());
+    }
+    
+    // Make a move recorded at the given time (used when replaying logged moves)
+    public boolean makeMove(String gameId, String playerId, int position, LocalDateTime at) {
+        return moveTimer.record(() -> applyMove(gameId, playerId, position, at));
+    }
+    
+    private boolean applyMove(String gameId, String playerId, int position, LocalDateTime at) {
+        boolean success = withGameLock(gameId, game -> move(game, playerId, position, at));
         
+        // Rankings are shared across games, so re-rank outside the game lock
+        if (success) {
+            findById(gameId).ifPresent(game -> game.getPlayers().forEach(playerService::refreshRankings));
+        }
+        return success;
+    }
+    
+    // Best move for the player to move, looked up in the perfect-play table. Only active
+    // 3x3 games with three in a row have one.
+    public PerfectPlay.Hint getHint(String gameId) {
+        return withGameLock(gameId, GameService::hintFor);
+    }
+    
+    // Play the perfect-play move for a player whose turn it is (practice-mode opponent);
+    // returns the move made
+    public PerfectPlay.Hint makeAiMove(String gameId, String playerId) {
+        return aiMoveTimer.record(() -> {
+            PerfectPlay.Hint hint = withGameLock(gameId, game -> {
+                PerfectPlay.Hint best = hintFor(game);
+                return move(game, playerId, best.position(), LocalDateTime.now()) ? best : null;
+            });
+            if (hint == null) {
+                throw new IllegalStateException("Move could not be made");
+            }
+            findById(gameId).ifPresent(game -> game.getPlayers().forEach(playerService::refreshRankings));
+            return hint;
+        });
+    }
+    
+    private static PerfectPlay.Hint hintFor(Game game) {
+        if (!PerfectPlay.supports(game.getRows(), game.getCols(), game.getWinLength())) {
+            throw new IllegalArgumentException("Hints are only available for 3x3 games with three in a row");
+        }
+        PerfectPlay.Hint hint = game.perfectPlayHint();
+        if (hint == null) {
+            throw new IllegalStateException("Game is not active");
+        }
+        return hint;
+    }
+    
+    // Make moves in bulk. Moves are grouped by game and each game's moves are applied in
+    // request order under one lock acquisition; results are in request order. Players of
+    // the affected games are re-ranked once at the end rather than after every move.
+    public List<BatchResult> makeMoves(List<MoveCommand> moves) {
+        return batchMoveTimer.record(() -> applyMoves(moves));
+    }
+    
+    private List<BatchResult> applyMoves(List<MoveCommand> moves) {
+        LocalDateTime at = LocalDateTime.now();
+        Set<Player> affected = new HashSet<>();
+        List<BatchResult> results = applyBatch(moves, MoveCommand::gameId, (game, move) -> {
+            boolean success = move(game, move.playerId(), move.position(), at);
+            if (success) {
+                affected.addAll(game.getPlayers());
+            }
+            return success;
+        }, "Invalid position");
+        affected.forEach(playerService::refreshRankings);
+        return results;
+    }
+    
+    // Validate and apply a move; caller holds the game's lock
+    private boolean move(Game game, String playerId, int position, LocalDateTime at) {
         Player player = game.getPlayers().stream()
             .filter(p -> p.getId().equals(playerId))
             .findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("Player not in this game"));
+            .orElseThrow(() -> rejected(MoveRejection.NOT_IN_GAME, new IllegalArgumentException("Player not in this game")));
         
         if (game.getStatus() != Game.GameStatus.ACTIVE) {
-            throw new IllegalStateException("Game is not active");
+            throw rejected(MoveRejection.GAME_NOT_ACTIVE, new IllegalStateException("Game is not active"));
         }
         
         if (!game.getCurrentPlayer().getId().equals(playerId)) {
-            throw new IllegalStateException("Not player's turn");
+            throw rejected(MoveRejection.NOT_YOUR_TURN, new IllegalStateException("Not player's turn"));
         }
         
-        return game.makeMove(player, position);
+        Game.GameStatus before = game.getStatus();
+        if (!game.makeMove(player, position, at)) {
+            boolean onBoard = position >= 0 && position < game.getRows() * game.getCols();
+            rejected(onBoard ? MoveRejection.CELL_OCCUPIED : MoveRejection.OFF_BOARD, null);
+            return false;
+        }
+        updateStatusIndex(game, before);
+        listeners.forEach(listener -> listener.onMove(game, player, position));
+        return true;
+    }
+    
+    // Apply batch items grouped by game (in order of first appearance), taking each game's
+    // lock once. A failing item is reported and does not stop the rest of its game's items;
+    // an item the game declines (apply returns false) is rejected with the given reason.
+    private <T> List<BatchResult> applyBatch(List<T> items, Function<T, String> gameIdOf,
+                                             BiFunction<Game, T, Boolean> apply, String declined) {
+        BatchResult[] results = new BatchResult[items.size()];
+        Map<String, List<Integer>> byGame = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            byGame.computeIfAbsent(gameIdOf.apply(items.get(i)), id -> new ArrayList<>()).add(i);
+        }
+        byGame.forEach((gameId, indexes) -> {
+            try {
+                withGameLock(gameId, game -> {
+                    for (int i : indexes) {
+                        try {
+                            results[i] = apply.apply(game, items.get(i))
+                                ? BatchResult.applied() : BatchResult.rejected(declined);
+                        } catch (IllegalArgumentException | IllegalStateException e) {
+                            results[i] = BatchResult.rejected(e.getMessage());
+                        }
+                    }
+                    return null;
+                });
+            } catch (IllegalArgumentException e) {
+                indexes.forEach(i -> results[i] = BatchResult.rejected(e.getMessage()));
+            }
+        });
+        return Arrays.asList(results);
     }
     
     // Get game status
@@ -103,9 +475,7 @@ public class GameService {
     
     // Get game board
     public List<String> getGameBoard(String gameId) {
-        Game game = findById(gameId)
-            .orElseThrow(() -> new IllegalArgumentException("Game not found"));
-        return new ArrayList<>(game.getBoard());
+        return withGameLock(gameId, Game::getBoard);
     }
     
     // Get current player
@@ -124,22 +494,124 @@ public class GameService {
     
     // Get game moves
     public List<Move> getGameMoves(String gameId) {
-        Game game = findById(gameId)
-            .orElseThrow(() -> new IllegalArgumentException("Game not found"));
-        return new ArrayList<>(game.getMoves());
+        return withGameLock(gameId, Game::getMoves);
+    }
+    
+    // Get a page of game moves in play order
+    public List<Move> getGameMoves(String gameId, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Offset must be non-negative and limit positive");
+        }
+        return withGameLock(gameId, game -> game.getMoves(offset, limit));
     }
     
     // Delete game
     public boolean deleteGame(String id) {
-        return games.remove(id) != null;
+        if (id == null) {
+            return false;
+        }
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            if (removeGame(id)) {
+                return true;
+            }
+            // Not live: it may have been archived
+            Optional<Game> archived = archive != null ? archive.find(id) : Optional.empty();
+            if (archived.isEmpty() || !archive.remove(id)) {
+                return false;
+            }
+            listeners.forEach(listener -> listener.onGameDeleted(archived.get()));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // Move finished games last updated before the cutoff out of the live map and its
+    // indexes into the archive. They stay findable by ID but drop out of listings.
+    // Returns how many games were archived.
+    public int archiveFinishedGames(LocalDateTime cutoff) {
+        if (archive == null) {
+            throw new IllegalStateException("Game archiving is not enabled");
+        }
+        // A game is created before it finishes, so only games created before the
+        // cutoff can qualify: walk just that prefix of the ordered status indexes
+        CursorKey bound = new CursorKey(cutoff, "");
+        int archived = 0;
+        for (Game.GameStatus status : List.of(Game.GameStatus.COMPLETED, Game.GameStatus.DRAW)) {
+            for (CursorKey key : gamesByStatus.get(status).headSet(bound, false)) {
+                Game game = games.get(key.id());
+                if (game == null || !isExpired(game, cutoff)) {
+                    continue;
+                }
+                // Finished games no longer change, so they can be written without the lock
+                if (!archive.contains(game.getId())) {
+                    archive.store(game);
+                }
+                ReentrantLock lock = lockFor(game.getId());
+                lock.lock();
+                try {
+                    if (games.get(game.getId()) == game) {
+                        unindex(game);
+                        archived++;
+                    } else {
+                        archive.remove(game.getId()); // Deleted meanwhile
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+        return archived;
+    }
+    
+    private static boolean isExpired(Game game, LocalDateTime cutoff) {
+        boolean finished = game.getStatus() == Game.GameStatus.COMPLETED || game.getStatus() == Game.GameStatus.DRAW;
+        return finished && game.getUpdatedAt().isBefore(cutoff);
+    }
+    
+    // Remove a game and its index entries; caller holds the game's lock
+    private boolean removeGame(String id) {
+        Game game = games.get(id);
+        if (game == null) {
+            return false;
+        }
+        unindex(game);
+        listeners.forEach(listener -> listener.onGameDeleted(game));
+        return true;
+    }
+    
+    // Add a game to a player's index. The add happens inside compute so it cannot land in
+    // a set that unindex is dropping for being empty.
+    private void indexPlayer(Player player, Game game) {
+        CursorKey key = keyOf(game);
+        gamesByPlayer.compute(player.getId(), (playerId, keys) -> {
+            NavigableSet<CursorKey> set = keys != null ? keys : new ConcurrentSkipListSet<>();
+            set.add(key);
+            return set;
+        });
+    }
+    
+    // Drop a game from the live map and every index; caller holds the game's lock
+    private void unindex(Game game) {
+        String id = game.getId();
+        games.remove(id);
+        CursorKey key = keyOf(game);
+        gameOrder.remove(key);
+        gamesByStatus.get(game.getStatus()).remove(key);
+        statusCounts.get(game.getStatus()).decrementAndGet();
+        for (Player player : game.getPlayers()) {
+            gamesByPlayer.computeIfPresent(player.getId(), (playerId, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
     }
     
     // Get games by player
     public List<Game> getGamesByPlayer(String playerId) {
-        return games.values().stream()
-            .filter(game -> game.getPlayers().stream()
-                .anyMatch(player -> player.getId().equals(playerId)))
-            .collect(Collectors.toList());
+        return resolve(gamesByPlayer.getOrDefault(playerId, Collections.emptyNavigableSet()));
     }
     
     // Get player's active games
@@ -151,7 +623,7 @@ public class GameService {
     
     // Get total game count
     public long getTotalGameCount() {
-        return games.size();
+        return games.size() + (archive != null ? archive.size() : 0);
     }
     
     // Get games created in date range
@@ -167,7 +639,7 @@ public class GameService {
     // Get games with most moves
     public List<Game> getGamesWithMostMoves(int limit) {
         return games.values().stream()
-            .sorted((g1, g2) -> Integer.compare(g2.getMoves().size(), g1.getMoves().size()))
+            .sorted((g1, g2) -> Integer.compare(g2.getMoveCount(), g1.getMoveCount()))
             .limit(limit)
             .collect(Collectors.toList());
     }
@@ -187,6 +659,69 @@ public class GameService {
         return game.getPlayers().size() >= 2;
     }
     
+    // Run an action against a game while holding its lock. The game is looked up under
+    // the lock so an action can never observe (or resurrect) a concurrently deleted game.
+    private <T> T withGameLock(String gameId, Function<Game, T> action) {
+        if (gameId == null) {
+            throw new IllegalArgumentException("Game not found");
+        }
+        ReentrantLock lock = lockFor(gameId);
+        lock.lock();
+        try {
+            Game game = findById(gameId)
+                .orElseThrow(() -> new IllegalArgumentException("Game not found"));
+            return action.apply(game);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // Count a refused move; returns the exception to throw, if any
+    private <E extends RuntimeException> E rejected(MoveRejection reason, E exception) {
+        rejections.get(reason).increment();
+        return exception;
+    }
+    
+    private static Timer operationTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("game.operations")
+            .description("Time spent in GameService operations")
+            .tag("operation", operation)
+            .register(registry);
+    }
+    
+    private static CursorKey keyOf(Game game) {
+        return new CursorKey(game.getCreatedAt(), game.getId());
+    }
+    
+    private ReentrantLock lockFor(String gameId) {
+        int h = gameId.hashCode();
+        return gameLocks[(h ^ (h >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+    
+    // Move a game between status index buckets after a transition. The new entry is added
+    // before the old one is removed so concurrent readers never miss the game.
+    private void updateStatusIndex(Game game, Game.GameStatus before) {
+        Game.GameStatus after = game.getStatus();
+        if (after != before) {
+            gamesByStatus.get(after).add(keyOf(game));
+            gamesByStatus.get(before).remove(keyOf(game));
+            statusCounts.get(after).incrementAndGet();
+            statusCounts.get(before).decrementAndGet();
+        }
+    }
+    
+    // Look up indexed games, skipping any deleted since they were read
+    private List<Game> resolve(Collection<CursorKey> keys) {
+        List<Game> result = new ArrayList<>(keys.size());
+        for (CursorKey key : keys) {
+            Game game = games.get(key.id());
+            if (game != null) {
+                result.add(game);
+            }
+        }
+        return result;
+    }
+    
     // Check if player is in game
     public boolean isPlayerInGame(String gameId, String playerId) {
         Game game = findById(gameId)
@@ -194,6 +729,123 @@ public class GameService {
         return game.getPlayers().stream()
             .anyMatch(player -> player.getId().equals(playerId));
     }
+    
+    // Which games a paginated or streamed listing covers: all games, games in any of the
+    // given statuses, or one player's games
+    public record GameQuery(Set<Game.GameStatus> statuses, String playerId) {
+        
+        public static GameQuery all() {
+            return new GameQuery(Set.of(), null);
+        }
+        
+        public static GameQuery withStatus(Game.GameStatus... statuses) {
+            return new GameQuery(EnumSet.copyOf(Arrays.asList(statuses)), null);
+        }
+        
+        public static GameQuery byPlayer(String playerId) {
+            return new GameQuery(Set.of(), playerId);
+        }
+        
+        // Index entries can briefly lag a status change, so results are checked again
+        boolean matches(Game game) {
+            return statuses.isEmpty() || statuses.contains(game.getStatus());
+        }
+    }
+    
+    // Merge of ordered key iterators. A game changing status can briefly sit in two
+    // status sets; equal neighbouring keys are collapsed so it is returned once.
+    private static final class MergedKeys implements Iterator<CursorKey> {
+        
+        private final List<Iterator<CursorKey>> sources;
+        private final CursorKey[] heads;
+        private CursorKey previous;
+        
+        MergedKeys(List<Iterator<CursorKey>> sources) {
+            this.sources = sources;
+            this.heads = new CursorKey[sources.size()];
+            for (int i = 0; i < heads.length; i++) {
+                heads[i] = advance(i);
+            }
+            skipDuplicates();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return lowest() >= 0;
+        }
+        
+        @Override
+        public CursorKey next() {
+            int i = lowest();
+            if (i < 0) {
+                throw new NoSuchElementException();
+            }
+            previous = heads[i];
+            heads[i] = advance(i);
+            skipDuplicates();
+            return previous;
+        }
+        
+        private CursorKey advance(int i) {
+            Iterator<CursorKey> source = sources.get(i);
+            return source.hasNext() ? source.next() : null;
+        }
+        
+        private void skipDuplicates() {
+            for (int i = 0; i < heads.length; i++) {
+                while (heads[i] != null && previous != null && heads[i].compareTo(previous) <= 0) {
+                    heads[i] = advance(i);
+                }
+            }
+        }
+        
+        private int lowest() {
+            int lowest = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (lowest < 0 || heads[i].compareTo(heads[lowest]) < 0)) {
+                    lowest = i;
+                }
+            }
+            return lowest;
+        }
+    }
+    
+    // Why a move was refused, as tagged on the rejection counter
+    private enum MoveRejection {
+        NOT_IN_GAME("not_in_game"),
+        GAME_NOT_ACTIVE("game_not_active"),
+        NOT_YOUR_TURN("not_your_turn"),
+        CELL_OCCUPIED("cell_occupied"),
+        OFF_BOARD("off_board");
+        
+        private final String tag;
+        
+        MoveRejection(String tag) {
+            this.tag = tag;
+        }
+    }
+    
+    // One move of a batch
+    public record MoveCommand(String gameId, String playerId, int position) {
+    }
+    
+    // One join of a batch
+    public record JoinCommand(String gameId, String playerId) {
+    }
+    
+    // Outcome of one batch item: applied, or rejected with the reason
+    public record BatchResult(boolean success, String error) {
+        
+        private static final BatchResult APPLIED = new BatchResult(true, null);
+        
+        public static BatchResult applied() {
+            return APPLIED;
+        }
+        
+        public static BatchResult rejected(String error) {
+            return new BatchResult(false, error);
+        }
+    }
 }
 
 // TODO: Implement basic leaderboard endpoint [ttt.feature.leaderboard.basic]
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.example.service;
+
+import com.example.model.Player;
+import com.example.model.PlayerStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Ranking of players by one stats metric, kept sorted as stats change so top-K reads
+ * walk only the first K entries instead of sorting every player.
+ */
+public class Leaderboard {
+    
+    private final ToDoubleFunction<PlayerStats> metric;
+    private final Predicate<PlayerStats> eligible;
+    
+    // Ordered by score (descending), then player ID; each player has at most one live entry
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    
+    public Leaderboard(ToDoubleFunction<PlayerStats> metric, Predicate<PlayerStats> eligible) {
+        this.metric = metric;
+        this.eligible = eligible;
+    }
+    
+    // Re-rank a player from their current stats. Runs inside entries.compute, so updates
+    // of one player are serialized and the last one, which reads the newest stats, wins.
+    public void update(Player player) {
+        entries.compute(player.getId(), (id, previous) -> {
+            PlayerStats stats = player.getStats();
+            Entry next = eligible.test(stats)
+                ? new Entry(metric.applyAsDouble(stats), player, versions.incrementAndGet())
+                : null;
+            if (next != null) {
+                ranking.add(next);
+            }
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+            return next;
+        });
+    }
+    
+    // Drop a player from the ranking
+    public void remove(String playerId) {
+        entries.computeIfPresent(playerId, (id, previous) -> {
+            ranking.remove(previous);
+            return null;
+        });
+    }
+    
+    // Highest-ranked players, best first
+    public List<Player> top(int limit) {
+        List<Player> result = new ArrayList<>(Math.min(Math.max(limit, 0), 64));
+        for (Entry entry : ranking) {
+            if (result.size() >= limit) {
+                break;
+            }
+            // Skip entries superseded by a concurrent update that has not removed them yet
+            if (entries.get(entry.player.getId()) == entry) {
+                result.add(entry.player);
+            }
+        }
+        return result;
+    }
+    
+    // Ranked snapshot of one player's score. The version keeps entries unique, so a
+    // stale entry can never be mistaken for (and remove) a newer one with the same score.
+    private record Entry(double score, Player player, long version) implements Comparable<Entry> {
+        
+        @Override
+        public int compareTo(Entry other) {
+            int cmp = Double.compare(other.score, score);
+            if (cmp == 0) {
+                cmp = player.getId().compareTo(other.player.getId());
+            }
+            return cmp != 0 ? cmp : Long.compare(version, other.version);
+        }
+    }
+}
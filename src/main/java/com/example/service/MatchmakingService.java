@@ -0,0 +1,260 @@
+package com.example.service;
+
+import com.example.model.Game;
+import com.example.model.Player;
+import com.example.model.PlayerStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pairs players who ask for a game into ready-to-play games, so nobody has to list
+ * waiting games and race others for a seat.
+ *
+ * Players wait in pools keyed by board rules and win-rate tier ({@link PlayerStats}
+ * win rate split into equal bands; new players start in the middle). A pool holds at
+ * most one waiting ticket, in an atomic slot: an arrival either takes the waiting ticket
+ * and the pair gets an ACTIVE game from {@link GameService#createMatch}, or parks its own
+ * ticket. Pairing costs a few compare-and-sets, with no lock and no scan, so arrivals in
+ * different pools never contend and arrivals in one pool contend on a single slot.
+ *
+ * So that nobody waits forever in an empty tier, a ticket that has waited for
+ * widen-after-ms can also be paired from the neighbouring tiers (one more tier each
+ * further period), by an arrival there or when its player checks the ticket.
+ */
+@Service
+public class MatchmakingService implements PlayerEventListener {
+    
+    private final GameService gameService;
+    private final PlayerService playerService;
+    private final int tiers;
+    private final long widenAfterNanos;
+    
+    // Player ID -> latest ticket, and pool -> the ticket waiting in it (if any)
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Map<Pool, AtomicReference<Ticket>> pools = new ConcurrentHashMap<>();
+    
+    private final AtomicLong waiting = new AtomicLong();
+    private final Counter matches;
+    
+    public MatchmakingService(GameService gameService, PlayerService playerService, MeterRegistry meterRegistry,
+                              @Value("${game.matchmaking.tiers:5}") int tiers,
+                              @Value("${game.matchmaking.widen-after-ms:5000}") long widenAfterMs) {
+        if (tiers <= 0 || widenAfterMs < 0) {
+            throw new IllegalArgumentException("Matchmaking needs at least one tier and a non-negative widening delay");
+        }
+        this.gameService = gameService;
+        this.playerService = playerService;
+        this.tiers = tiers;
+        this.widenAfterNanos = TimeUnit.MILLISECONDS.toNanos(widenAfterMs);
+        this.matches = Counter.builder("matchmaking.matches")
+            .description("Games created by matchmaking")
+            .register(meterRegistry);
+        Gauge.builder("matchmaking.waiting", waiting, AtomicLong::get)
+            .description("Players waiting for an opponent")
+            .register(meterRegistry);
+        playerService.addListener(this);
+    }
+    
+    // Ask for a game with the given rules. The result is MATCHED (with the game ID) when
+    // a suitable opponent was waiting, otherwise WAITING. Asking again while waiting
+    // returns the same ticket; asking after a match starts a new search.
+    public MatchStatus enqueue(String playerId, int rows, int cols, int winLength) {
+        Game.validateRules(rows, cols, winLength);
+        Player player = playerService.findById(playerId)
+            .orElseThrow(() -> new IllegalArgumentException("Player not found"));
+        Ticket ticket = new Ticket(player, new Pool(rows, cols, winLength, tierOf(player.getStats())));
+        while (true) {
+            Ticket current = tickets.putIfAbsent(playerId, ticket);
+            if (current == null) {
+                break;
+            }
+            if (current.isOpen()) {
+                return current.status();
+            }
+            if (tickets.replace(playerId, current, ticket)) {
+                break;
+            }
+        }
+        waiting.incrementAndGet();
+        match(ticket);
+        return ticket.status();
+    }
+    
+    // State of a player's latest ticket. A ticket that has waited past the widening
+    // delay gets another try against the neighbouring tiers.
+    public Optional<MatchStatus> getStatus(String playerId) {
+        Ticket ticket = tickets.get(playerId);
+        if (ticket == null) {
+            return Optional.empty();
+        }
+        if (tiers > 1 && ticket.state.get() == State.WAITING && ticket.waitedNanos() >= widenAfterNanos
+                && slot(ticket.pool).compareAndSet(ticket, null)) {
+            match(ticket); // Out of its slot: pair it more widely or park it again
+        }
+        return Optional.of(ticket.status());
+    }
+    
+    // Stop waiting; false if the player has no waiting ticket
+    public boolean cancel(String playerId) {
+        Ticket ticket = tickets.get(playerId);
+        if (ticket == null || !ticket.state.compareAndSet(State.WAITING, State.CANCELLED)) {
+            return false;
+        }
+        waiting.decrementAndGet();
+        slot(ticket.pool).compareAndSet(ticket, null);
+        tickets.remove(playerId, ticket);
+        return true;
+    }
+    
+    // Deleted players stop waiting
+    @Override
+    public void onPlayerDeleted(Player player) {
+        cancel(player.getId());
+    }
+    
+    // Pair a waiting ticket with the one in its pool (or a long-waiting one nearby), or
+    // park it in its pool's slot
+    private void match(Ticket ticket) {
+        AtomicReference<Ticket> own = slot(ticket.pool);
+        while (ticket.state.get() == State.WAITING) {
+            Ticket partner = own.get();
+            if (partner != null) {
+                if (!own.compareAndSet(partner, null)) {
+                    continue; // Someone else took it
+                }
+            } else {
+                partner = takeFromNeighbour(ticket);
+                if (partner == null) {
+                    if (own.compareAndSet(null, ticket)) {
+                        if (ticket.state.get() != State.WAITING) {
+                            own.compareAndSet(ticket, null); // Cancelled while parking
+                        }
+                        return;
+                    }
+                    continue;
+                }
+            }
+            // The partner is out of every slot; claim both before creating the game
+            if (!partner.state.compareAndSet(State.WAITING, State.CLAIMED)) {
+                continue; // Cancelled: drop it and look again
+            }
+            if (!ticket.state.compareAndSet(State.WAITING, State.CLAIMED)) {
+                partner.state.set(State.WAITING); // We were cancelled: put the partner back
+                match(partner);
+                return;
+            }
+            pair(partner, ticket);
+            return;
+        }
+    }
+    
+    // A ticket from a nearby tier, with the same rules, that has waited long enough to
+    // be matched that far away; removed from its slot. Null if there is none.
+    private Ticket takeFromNeighbour(Ticket ticket) {
+        Pool pool = ticket.pool;
+        for (int distance = 1; distance < tiers; distance++) {
+            for (int tier : new int[] {pool.tier() - distance, pool.tier() + distance}) {
+                AtomicReference<Ticket> slot = tier >= 0 && tier < tiers ? pools.get(pool.withTier(tier)) : null;
+                Ticket candidate = slot != null ? slot.get() : null;
+                if (candidate != null
+                        && Math.max(candidate.waitedNanos(), ticket.waitedNanos()) >= distance * widenAfterNanos
+                        && slot.compareAndSet(candidate, null)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+    
+    // Create the game for two claimed tickets; the one that waited longer moves first
+    private void pair(Ticket first, Ticket second) {
+        Pool pool = first.pool;
+        try {
+            Game game = gameService.createMatch("Match", pool.rows(), pool.cols(), pool.winLength(),
+                first.player, second.player);
+            first.matched(game.getId());
+            second.matched(game.getId());
+            matches.increment();
+        } catch (RuntimeException e) {
+            first.state.set(State.CANCELLED);
+            second.state.set(State.CANCELLED);
+            throw e;
+        } finally {
+            waiting.addAndGet(-2);
+        }
+    }
+    
+    private AtomicReference<Ticket> slot(Pool pool) {
+        return pools.computeIfAbsent(pool, p -> new AtomicReference<>());
+    }
+    
+    private int tierOf(PlayerStats stats) {
+        if (stats.getGamesPlayed() == 0) {
+            return tiers / 2; // Unknown strength: start in the middle
+        }
+        return Math.min(tiers - 1, (int) (stats.getWinRate() * tiers));
+    }
+    
+    // What a client sees of a ticket
+    public record MatchStatus(String playerId, String status, String gameId, long waitedMs) {
+    }
+    
+    // Players in one pool may be matched: same board rules and win-rate tier
+    private record Pool(int rows, int cols, int winLength, int tier) {
+        
+        Pool withTier(int other) {
+            return new Pool(rows, cols, winLength, other);
+        }
+    }
+    
+    // CLAIMED: taken by a matcher and about to be MATCHED (shown as WAITING)
+    private enum State {
+        WAITING, CLAIMED, MATCHED, CANCELLED
+    }
+    
+    private static final class Ticket {
+        
+        final Player player;
+        final Pool pool;
+        final long enqueuedAt = System.nanoTime();
+        final AtomicReference<State> state = new AtomicReference<>(State.WAITING);
+        volatile String gameId;
+        volatile long matchedAt;
+        
+        Ticket(Player player, Pool pool) {
+            this.player = player;
+            this.pool = pool;
+        }
+        
+        boolean isOpen() {
+            return state.get() == State.WAITING || state.get() == State.CLAIMED;
+        }
+        
+        long waitedNanos() {
+            return (gameId != null ? matchedAt : System.nanoTime()) - enqueuedAt;
+        }
+        
+        void matched(String gameId) {
+            this.matchedAt = System.nanoTime();
+            this.gameId = gameId;
+            state.set(State.MATCHED);
+        }
+        
+        MatchStatus status() {
+            State current = state.get();
+            String shown = current == State.CLAIMED ? State.WAITING.name() : current.name();
+            return new MatchStatus(player.getId(), shown, current == State.MATCHED ? gameId : null,
+                TimeUnit.NANOSECONDS.toMillis(waitedNanos()));
+        }
+    }
+}
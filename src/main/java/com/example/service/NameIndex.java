@@ -0,0 +1,142 @@
+package com.example.service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Substring search over player names through a trigram inverted index. Each normalized
+ * name is posted under every three-character slice it contains; a query of three or more
+ * characters only checks the names posted under its rarest trigram, so cost follows the
+ * number of candidates rather than the number of players. Shorter queries have no
+ * trigram to go by and scan the names.
+ *
+ * Results are ranked by where the query matches (prefix matches first), then by shorter
+ * name, then alphabetically.
+ */
+public class NameIndex {
+    
+    private static final int GRAM = 3;
+    
+    // Player ID -> normalized name, and trigram -> IDs of players whose name contains it
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+    
+    // Index a player's name, replacing any previous one
+    public void put(String playerId, String name) {
+        String normalized = normalize(name);
+        // compute() serializes updates of one player, so their postings cannot interleave
+        names.compute(playerId, (id, previous) -> {
+            if (previous != null) {
+                if (previous.equals(normalized)) {
+                    return previous;
+                }
+                unpost(id, previous);
+            }
+            for (String gram : trigrams(normalized)) {
+                // Add inside compute(): a set emptied and dropped by unpost() is never reused
+                postings.compute(gram, (g, ids) -> {
+                    Set<String> posted = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    posted.add(id);
+                    return posted;
+                });
+            }
+            return normalized;
+        });
+    }
+    
+    public void remove(String playerId) {
+        names.computeIfPresent(playerId, (id, previous) -> {
+            unpost(id, previous);
+            return null;
+        });
+    }
+    
+    // IDs of players whose name contains the query (case-insensitive), best match first
+    public List<String> search(String query, int limit) {
+        String term = normalize(query);
+        if (term.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // Worst of the best `limit` matches on top, so it is the one replaced
+        PriorityQueue<Match> best = new PriorityQueue<>(Comparator.reverseOrder());
+        for (String id : candidates(term)) {
+            String name = names.get(id);
+            int position = name != null ? name.indexOf(term) : -1;
+            if (position < 0) {
+                continue; // Trigrams present but not adjacent, or removed meanwhile
+            }
+            Match match = new Match(id, name, position);
+            if (best.size() < limit) {
+                best.add(match);
+            } else if (match.compareTo(best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+        List<Match> ranked = new ArrayList<>(best);
+        Collections.sort(ranked);
+        List<String> ids = new ArrayList<>(ranked.size());
+        ranked.forEach(match -> ids.add(match.id()));
+        return ids;
+    }
+    
+    // IDs that may match: those posted under the query's rarest trigram (each is then
+    // checked against its name, which is cheaper than probing the other posting sets),
+    // or every ID for queries too short to have a trigram
+    private Collection<String> candidates(String term) {
+        Set<String> grams = trigrams(term);
+        if (grams.isEmpty()) {
+            return names.keySet();
+        }
+        Set<String> rarest = null;
+        for (String gram : grams) {
+            Set<String> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of(); // Some trigram occurs in no name
+            }
+            if (rarest == null || ids.size() < rarest.size()) {
+                rarest = ids;
+            }
+        }
+        return rarest;
+    }
+    
+    private void unpost(String id, String name) {
+        for (String gram : trigrams(name)) {
+            postings.computeIfPresent(gram, (g, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+    
+    private static Set<String> trigrams(String text) {
+        if (text.length() < GRAM) {
+            return Set.of();
+        }
+        Set<String> grams = new HashSet<>(text.length() * 2);
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+    
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private record Match(String id, String name, int position) implements Comparable<Match> {
+        
+        @Override
+        public int compareTo(Match other) {
+            if (position != other.position) {
+                return Integer.compare(position, other.position);
+            }
+            if (name.length() != other.name.length()) {
+                return Integer.compare(name.length(), other.name.length());
+            }
+            int byName = name.compareTo(other.name);
+            return byName != 0 ? byName : id.compareTo(other.id);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a cursor-paginated query; nextCursor is null on the last page
+public record Page<T>(List<T> items, String nextCursor) {
+    
+    public <R> Page<R> map(Function<? super T, ? extends R> mapper) {
+        return new Page<>(items.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
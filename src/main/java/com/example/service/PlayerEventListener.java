@@ -0,0 +1,20 @@
+package com.example.service;
+
+import com.example.model.Player;
+
+/**
+ * Callback for player changes made through {@link PlayerService}. Stats changes made by
+ * games are reported through {@link GameEventListener#onMove} instead.
+ */
+public interface PlayerEventListener {
+    
+    default void onPlayerSaved(Player player) {
+    }
+    
+    default void onPlayerDeleted(Player player) {
+    }
+    
+    // Stats recorded directly through PlayerService.updatePlayerStats
+    default void onStatsRecorded(Player player, boolean won, boolean drawn, int movesMade) {
+    }
+}
@@ -2,10 +2,19 @@ package com.example.service;
 
 import com.example.model.Player;
 import com.example.model.PlayerStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -14,18 +23,91 @@ public class PlayerService {
     // In-memory storage for L2 (can be replaced with repository for L3)
     private final Map<String, Player> players = new ConcurrentHashMap<>();
     
+    // Players in (createdAt, id) order, for cursor pagination
+    private final NavigableSet<CursorKey> playerOrder = new ConcurrentSkipListSet<>();
+    
+    // Email uniqueness index: normalized email -> player ID. An email is reserved here
+    // with putIfAbsent before the player becomes visible, so duplicates cannot slip in.
+    private final Map<String, String> playerIdsByEmail = new ConcurrentHashMap<>();
+    
+    // Rankings maintained incrementally as stats change
+    private final Leaderboard winRateRanking = new Leaderboard(
+        PlayerStats::getWinRate, stats -> stats.getGamesPlayed() > 0);
+    private final Leaderboard activityRanking = new Leaderboard(
+        PlayerStats::getGamesPlayed, stats -> true);
+    private final Leaderboard efficiencyRanking = new Leaderboard(
+        PlayerStats::getEfficiency, stats -> stats.getGamesWon() > 0);
+    
+    // Trigram index for name search
+    private final NameIndex nameIndex = new NameIndex();
+    
+    private final List<PlayerEventListener> listeners = new CopyOnWriteArrayList<>();
+    
+    // Held shared by updatePlayerStats and exclusively by withStatsUpdatesBlocked
+    private final ReentrantReadWriteLock statsLock = new ReentrantReadWriteLock();
+    
+    private final Timer createTimer;
+    private final Timer searchTimer;
+    private final Timer rankTimer;
+    private final Timer leaderboardTimer;
+    
+    // Without Spring, meters go to Micrometer's global registry (a no-op unless a
+    // registry has been added to it)
+    public PlayerService() {
+        this(Metrics.globalRegistry);
+    }
+    
+    @Autowired
+    public PlayerService(MeterRegistry meterRegistry) {
+        this.createTimer = operationTimer(meterRegistry, "create");
+        this.searchTimer = operationTimer(meterRegistry, "search");
+        this.rankTimer = operationTimer(meterRegistry, "rank");
+        this.leaderboardTimer = operationTimer(meterRegistry, "leaderboard");
+        Gauge.builder("players.registered", players, Map::size)
+            .description("Players in memory")
+            .register(meterRegistry);
+    }
+    
     // Create a new player
     public Player createPlayer(String name, String email) {
-        // Check if email already exists
-        if (findByEmail(email).isPresent()) {
+        return createTimer.record(() -> register(name, email));
+    }
+    
+    private Player register(String name, String email) {
+        checkLengths(name, email);
+        Player player = new Player(name, email);
+        player.setId(UUID.randomUUID().toString());
+        
+        // Reserve the email; fails if another player already holds it
+        if (playerIdsByEmail.putIfAbsent(normalizeEmail(email), player.getId()) != null) {
             throw new IllegalArgumentException("Player with this email already exists");
         }
         
-        Player player = new Player(name, email);
         players.put(player.getId(), player);
+        playerOrder.add(keyOf(player));
+        nameIndex.put(player.getId(), name);
+        refreshRankings(player);
+        listeners.forEach(listener -> listener.onPlayerSaved(player));
         return player;
     }
     
+    // Put back a player loaded from storage, with its email and ranking entries
+    public void restorePlayer(Player player) {
+        playerIdsByEmail.put(normalizeEmail(player.getEmail()), player.getId());
+        Player previous = players.put(player.getId(), player);
+        if (previous != null) {
+            playerOrder.remove(keyOf(previous));
+        }
+        playerOrder.add(keyOf(player));
+        nameIndex.put(player.getId(), player.getName());
+        refreshRankings(player);
+    }
+    
+    // Register a listener for player changes
+    public void addListener(PlayerEventListener listener) {
+        listeners.add(listener);
+    }
+    
     // Get player by ID
     public Optional<Player> findById(String id) {
         return Optional.ofNullable(players.get(id));
@@ -33,9 +115,11 @@ public class PlayerService {
     
     // Get player by email
     public Optional<Player> findByEmail(String email) {
-        return players.values().stream()
-            .filter(player -> player.getEmail().equals(email))
-            .findFirst();
+        if (email == null) {
+            return Optional.empty();
+        }
+        String id = playerIdsByEmail.get(normalizeEmail(email));
+        return id == null ? Optional.empty() : findById(id);
     }
     
     // Get all players
@@ -43,40 +127,109 @@ public class PlayerService {
         return new ArrayList<>(players.values());
     }
     
-    // Update player
+    // One page of players in (createdAt, id) order, starting after the cursor (null for
+    // the first page)
+    public Page<Player> findPage(String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        NavigableSet<CursorKey> keys = cursor != null
+            ? playerOrder.tailSet(CursorKey.decode(cursor), false) : playerOrder;
+        Iterator<CursorKey> iterator = keys.iterator();
+        List<Player> items = new ArrayList<>(Math.min(limit, 1024));
+        CursorKey last = null;
+        while (items.size() < limit && iterator.hasNext()) {
+            CursorKey key = iterator.next();
+            Player player = players.get(key.id());
+            if (player != null) {
+                items.add(player);
+                last = key;
+            }
+        }
+        return new Page<>(items, iterator.hasNext() && last != null ? last.encode() : null);
+    }
+    
+    // Lazily walk all players in (createdAt, id) order; weakly consistent like the page
+    // queries, so players created or deleted meanwhile may or may not be seen
+    public Iterator<Player> iterate() {
+        return playerOrder.stream()
+            .map(key -> players.get(key.id()))
+            .filter(Objects::nonNull)
+            .iterator();
+    }
+    
+    // Update player. Updates and deletes of one player run inside players.compute, so
+    // they are serialized and the email reservations always match the stored email.
     public Player updatePlayer(String id, String name, String email) {
-        Player player = findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Player not found"));
-        
-        // Check if email is being changed and if it conflicts with another player
-        if (!player.getEmail().equals(email)) {
-            findByEmail(email).ifPresent(existing -> {
-                if (!existing.getId().equals(id)) {
+        checkLengths(name, email);
+        String newKey = normalizeEmail(email);
+        Player updated = players.computeIfPresent(id, (playerId, player) -> {
+            // If the email is changing, reserve the new one before releasing the old one
+            String oldKey = normalizeEmail(player.getEmail());
+            if (!oldKey.equals(newKey)) {
+                String holder = playerIdsByEmail.putIfAbsent(newKey, id);
+                if (holder != null && !holder.equals(id)) {
                     throw new IllegalArgumentException("Email already in use by another player");
                 }
-            });
+            }
+            
+            player.setName(name);
+            player.setEmail(email);
+            nameIndex.put(id, name);
+            if (!oldKey.equals(newKey)) {
+                playerIdsByEmail.remove(oldKey, id);
+            }
+            return player;
+        });
+        if (updated == null) {
+            throw new IllegalArgumentException("Player not found");
         }
-        
-        player.setName(name);
-        player.setEmail(email);
-        return player;
+        listeners.forEach(listener -> listener.onPlayerSaved(updated));
+        return updated;
     }
     
     // Delete player
     public boolean deletePlayer(String id) {
-        return players.remove(id) != null;
+        Player[] removed = new Player[1];
+        players.computeIfPresent(id, (playerId, player) -> {
+            playerIdsByEmail.remove(normalizeEmail(player.getEmail()), id);
+            removed[0] = player;
+            return null;
+        });
+        Player player = removed[0];
+        if (player == null) {
+            return false;
+        }
+        playerOrder.remove(keyOf(player));
+        nameIndex.remove(id);
+        removeFromRankings(id);
+        listeners.forEach(listener -> listener.onPlayerDeleted(player));
+        return true;
     }
     
-    // Search players by name (partial match)
+    // Search players by name (partial match), best match first
     public List<Player> searchByName(String name) {
         if (name == null || name.trim().isEmpty()) {
             return findAll();
         }
-        
-        String searchTerm = name.toLowerCase().trim();
-        return players.values().stream()
-            .filter(player -> player.getName().toLowerCase().contains(searchTerm))
-            .collect(Collectors.toList());
+        return searchByName(name, Integer.MAX_VALUE);
+    }
+    
+    // Search players by name (case-insensitive substring), returning at most limit
+    // players: prefix matches first, then earlier matches, then shorter names
+    public List<Player> searchByName(String name, int limit) {
+        return searchTimer.record(() -> search(name, limit));
+    }
+    
+    private List<Player> search(String name, int limit) {
+        List<Player> result = new ArrayList<>();
+        for (String id : nameIndex.search(name, limit)) {
+            Player player = players.get(id);
+            if (player != null) {
+                result.add(player);
+            }
+        }
+        return result;
     }
     
     // Get player statistics
@@ -88,47 +241,86 @@ public class PlayerService {
     
     // Get leaderboard (top players by win rate)
     public List<Player> getLeaderboard(int limit) {
-        return players.values().stream()
-            .filter(player -> player.getStats().getGamesPlayed() > 0)
-            .sorted((p1, p2) -> Double.compare(p2.getStats().getWinRate(), p1.getStats().getWinRate()))
-            .limit(limit)
-            .collect(Collectors.toList());
+        return leaderboardTimer.record(() -> winRateRanking.top(limit));
     }
     
     // Get players with most games played
     public List<Player> getMostActivePlayers(int limit) {
-        return players.values().stream()
-            .sorted((p1, p2) -> Integer.compare(p2.getStats().getGamesPlayed(), p1.getStats().getGamesPlayed()))
-            .limit(limit)
-            .collect(Collectors.toList());
+        return activityRanking.top(limit);
     }
     
     // Get players with highest efficiency
     public List<Player> getMostEfficientPlayers(int limit) {
-        return players.values().stream()
-            .filter(player -> player.getStats().getGamesWon() > 0)
-            .sorted((p1, p2) -> Double.compare(p2.getStats().getEfficiency(), p1.getStats().getEfficiency()))
-            .limit(limit)
-            .collect(Collectors.toList());
+        return efficiencyRanking.top(limit);
+    }
+    
+    // Re-rank a player after their stats change
+    public void refreshRankings(Player player) {
+        rankTimer.record(() -> rank(player));
+    }
+    
+    private void rank(Player player) {
+        if (players.get(player.getId()) != player) {
+            return; // Deleted (or never registered); keep it out of the rankings
+        }
+        winRateRanking.update(player);
+        activityRanking.update(player);
+        efficiencyRanking.update(player);
+        if (players.get(player.getId()) != player) {
+            removeFromRankings(player.getId()); // Lost a race with deletePlayer
+        }
     }
     
-    // Update player stats after game completion
+    private static Timer operationTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("player.operations")
+            .description("Time spent in PlayerService operations")
+            .tag("operation", operation)
+            .register(registry);
+    }
+    
+    private void removeFromRankings(String id) {
+        winRateRanking.remove(id);
+        activityRanking.remove(id);
+        efficiencyRanking.remove(id);
+    }
+    
+    // Update player stats after game completion. The change and its onStatsRecorded
+    // event happen together under the stats lock, so withStatsUpdatesBlocked never sees
+    // one without the other.
     public void updatePlayerStats(String playerId, boolean won, boolean drawn, int movesMade) {
         Player player = findById(playerId)
             .orElseThrow(() -> new IllegalArgumentException("Player not found"));
         
-        PlayerStats stats = player.getStats();
-        stats.incrementGamesPlayed();
-        
-        if (won) {
-            stats.incrementGamesWon();
-        } else if (drawn) {
-            stats.incrementGamesDrawn();
-        } else {
-            stats.incrementGamesLost();
+        statsLock.readLock().lock();
+        try {
+            PlayerStats stats = player.getStats();
+            stats.incrementGamesPlayed();
+            
+            if (won) {
+                stats.incrementGamesWon();
+            } else if (drawn) {
+                stats.incrementGamesDrawn();
+            } else {
+                stats.incrementGamesLost();
+            }
+            
+            stats.addMoves(movesMade);
+            listeners.forEach(listener -> listener.onStatsRecorded(player, won, drawn, movesMade));
+        } finally {
+            statsLock.readLock().unlock();
+        }
+        refreshRankings(player);
+    }
+    
+    // Run an action while no updatePlayerStats call is in progress, e.g. to capture stats
+    // consistently with the events recorded for them. Keep the action short.
+    public <T> T withStatsUpdatesBlocked(Supplier<T> action) {
+        statsLock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            statsLock.writeLock().unlock();
         }
-        
-        stats.addMoves(movesMade);
     }
     
     // Get total player count
@@ -136,6 +328,29 @@ public class PlayerService {
         return players.size();
     }
     
+    // Pagination key: (createdAt, id)
+    private static CursorKey keyOf(Player player) {
+        return new CursorKey(player.getCreatedAt(), player.getId());
+    }
+    
+    // Names and emails are stored (and logged) with bounded lengths
+    private static void checkLengths(String name, String email) {
+        if (name != null && name.length() > Player.MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Player name must be at most " + Player.MAX_NAME_LENGTH + " characters");
+        }
+        if (email != null && email.length() > Player.MAX_EMAIL_LENGTH) {
+            throw new IllegalArgumentException("Player email must be at most " + Player.MAX_EMAIL_LENGTH + " characters");
+        }
+    }
+    
+    // Case-normalized key for the email index
+    private static String normalizeEmail(String email) {
+        if (email == null) {
+            throw new IllegalArgumentException("Player email is required");
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
     // Get players created in date range
     public List<Player> getPlayersCreatedBetween(Date startDate, Date endDate) {
         return players.values().stream()
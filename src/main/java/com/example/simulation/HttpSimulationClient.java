@@ -0,0 +1,114 @@
+package com.example.simulation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Talks to a running server through the public REST API
+final class HttpSimulationClient implements SimulationClient {
+    
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+    
+    HttpSimulationClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+    }
+    
+    @Override
+    public String createPlayer(String name, String email) {
+        return json(post("/api/players", Map.of("name", name, "email", email), 201)).get("id").asText();
+    }
+    
+    @Override
+    public String createGame(String name, int rows, int cols, int winLength) {
+        Map<String, Object> body = Map.of("name", name, "rows", rows, "cols", cols, "winLength", winLength);
+        return json(post("/api/games", body, 201)).get("id").asText();
+    }
+    
+    @Override
+    public boolean joinGame(String gameId, String playerId) {
+        return post("/api/games/" + gameId + "/players", Map.of("playerId", playerId), 0) != null;
+    }
+    
+    @Override
+    public boolean makeMove(String gameId, String playerId, int position) {
+        return post("/api/games/" + gameId + "/moves", Map.of("playerId", playerId, "position", position), 0) != null;
+    }
+    
+    @Override
+    public List<Standing> getLeaderboard(int limit) {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/players/leaderboard?limit=" + limit))
+            .timeout(TIMEOUT).GET().build());
+        List<Standing> standings = new ArrayList<>();
+        for (JsonNode player : json(response.body())) {
+            JsonNode stats = player.get("stats");
+            standings.add(new Standing(player.get("name").asText(), stats.get("gamesPlayed").asInt(),
+                stats.get("gamesWon").asInt(), stats.get("gamesDrawn").asInt(), stats.get("winRate").asDouble()));
+        }
+        return standings;
+    }
+    
+    // POST a JSON body; returns the response body on success, or null for a 4xx rejection.
+    // If expectedStatus is non-zero, any other status is an error.
+    private String post(String path, Object body, int expectedStatus) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+            HttpResponse<String> response = send(request);
+            if (expectedStatus != 0 && response.statusCode() != expectedStatus) {
+                throw new IllegalStateException("POST " + path + " returned " + response.statusCode());
+            }
+            return response.statusCode() < 300 ? response.body() : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 500) {
+                throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                    + response.statusCode());
+            }
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+    
+    private JsonNode json(String body) {
+        try {
+            return mapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
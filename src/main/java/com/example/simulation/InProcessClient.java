@@ -0,0 +1,94 @@
+package com.example.simulation;
+
+import com.example.controller.GameController;
+import com.example.controller.NdjsonWriter;
+import com.example.controller.PlayerController;
+import com.example.controller.ResponseCache;
+import com.example.model.Game;
+import com.example.model.Player;
+import com.example.model.PlayerStats;
+import com.example.service.GameEventBroadcaster;
+import com.example.service.GameService;
+import com.example.service.PlayerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+/**
+ * Calls the controllers directly on fresh services: measures the application itself,
+ * without HTTP, JSON or the servlet container.
+ */
+final class InProcessClient implements SimulationClient {
+    
+    private final GameController gameController;
+    private final PlayerController playerController;
+    
+    InProcessClient() {
+        PlayerService playerService = new PlayerService();
+        GameService gameService = new GameService(playerService);
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        NdjsonWriter ndjsonWriter = new NdjsonWriter(mapper);
+        ResponseCache responseCache = new ResponseCache(gameService, playerService, mapper, Metrics.globalRegistry,
+            64 << 20, 1000, 100_000);
+        this.gameController = new GameController(gameService, playerService,
+            new GameEventBroadcaster(gameService, 64, 0, 16), ndjsonWriter, responseCache);
+        this.playerController = new PlayerController(playerService, ndjsonWriter, responseCache);
+    }
+    
+    @Override
+    public String createPlayer(String name, String email) {
+        PlayerController.CreatePlayerRequest request = new PlayerController.CreatePlayerRequest();
+        request.setName(name);
+        request.setEmail(email);
+        return body(playerController.createPlayer(request)).getId();
+    }
+    
+    @Override
+    public String createGame(String name, int rows, int cols, int winLength) {
+        GameController.CreateGameRequest request = new GameController.CreateGameRequest();
+        request.setName(name);
+        request.setRows(rows);
+        request.setCols(cols);
+        request.setWinLength(winLength);
+        Game game = body(gameController.createGame(request));
+        return game.getId();
+    }
+    
+    @Override
+    public boolean joinGame(String gameId, String playerId) {
+        GameController.AddPlayerRequest request = new GameController.AddPlayerRequest();
+        request.setPlayerId(playerId);
+        return gameController.addPlayerToGame(gameId, request).getStatusCode().is2xxSuccessful();
+    }
+    
+    @Override
+    public boolean makeMove(String gameId, String playerId, int position) {
+        GameController.MakeMoveRequest request = new GameController.MakeMoveRequest();
+        request.setPlayerId(playerId);
+        request.setPosition(position);
+        return gameController.makeMove(gameId, request).getStatusCode().is2xxSuccessful();
+    }
+    
+    @Override
+    public List<Standing> getLeaderboard(int limit) {
+        return body(playerController.getLeaderboard(limit)).stream()
+            .map(InProcessClient::standing)
+            .toList();
+    }
+    
+    private static Standing standing(Player player) {
+        PlayerStats stats = player.getStats();
+        return new Standing(player.getName(), stats.getGamesPlayed(), stats.getGamesWon(),
+            stats.getGamesDrawn(), stats.getWinRate());
+    }
+    
+    private static <T> T body(ResponseEntity<T> response) {
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new IllegalStateException("Request failed with status " + response.getStatusCode());
+        }
+        return response.getBody();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.simulation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets: exact below 128 microseconds,
+ * then 64 buckets per power of two (under 1.6% error), so percentiles stay accurate
+ * without keeping every sample.
+ */
+final class LatencyHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    
+    private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    
+    void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(indexOf(micros));
+        count.increment();
+        max.accumulate(micros);
+    }
+    
+    void recordError() {
+        errors.increment();
+    }
+    
+    long getCount() {
+        return count.sum();
+    }
+    
+    long getErrors() {
+        return errors.sum();
+    }
+    
+    long getMaxMicros() {
+        return max.get();
+    }
+    
+    // Latency at the given quantile (0..1), in microseconds
+    long percentileMicros(double quantile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(valueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+    
+    private static int indexOf(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (micros >>> shift);
+    }
+    
+    // Upper bound of a bucket
+    private static long valueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index - (long) shift * SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.simulation;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Load generator: registers players, then keeps a fixed number of concurrent sessions
+ * busy, each playing games to completion, and reports throughput, per-endpoint latency
+ * percentiles and the final leaderboard.
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.args="--games=100000 --concurrency=1000"
+ * mvn compile exec:java -Dexec.args="--mode=http --base-url=http://localhost:8080"
+ * </pre>
+ *
+ * Options (all {@code --name=value}):
+ * <ul>
+ *   <li>{@code mode}: {@code in-process} (controllers on fresh services, default) or {@code http}</li>
+ *   <li>{@code base-url}: server for HTTP mode (default {@code http://localhost:8080})</li>
+ *   <li>{@code players}: players to register (default 1000)</li>
+ *   <li>{@code games}: games to play in total (default 10000)</li>
+ *   <li>{@code concurrency}: concurrent sessions (default 500)</li>
+ *   <li>{@code strategy}: {@code greedy}, {@code random} or {@code perfect}, or {@code x,o} to mix (default {@code greedy,random})</li>
+ *   <li>{@code board}, {@code win-length}: board size and K (default 3 and the board size)</li>
+ *   <li>{@code threads}: {@code virtual} (needs Java 21; default) or {@code platform}</li>
+ *   <li>{@code seed}: random seed for player pairing and moves (default 42)</li>
+ * </ul>
+ */
+public class LoadSimulator {
+    
+    private static final String CREATE_PLAYER = "POST /api/players";
+    private static final String CREATE_GAME = "POST /api/games";
+    private static final String JOIN_GAME = "POST /api/games/{id}/players";
+    private static final String MAKE_MOVE = "POST /api/games/{id}/moves";
+    private static final String LEADERBOARD = "GET /api/players/leaderboard";
+    
+    private final SimulationClient client;
+    private final int playerCount;
+    private final int gameCount;
+    private final int concurrency;
+    private final MoveStrategy xStrategy;
+    private final MoveStrategy oStrategy;
+    private final int boardSize;
+    private final int winLength;
+    private final long seed;
+    
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final LongAdder xWins = new LongAdder();
+    private final LongAdder oWins = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    
+    LoadSimulator(SimulationClient client, int playerCount, int gameCount, int concurrency,
+                  MoveStrategy xStrategy, MoveStrategy oStrategy, int boardSize, int winLength, long seed) {
+        if (playerCount < 2 || gameCount < 0 || concurrency < 1) {
+            throw new IllegalArgumentException("Need at least 2 players, non-negative games and 1 session");
+        }
+        this.client = client;
+        this.playerCount = playerCount;
+        this.gameCount = gameCount;
+        this.concurrency = concurrency;
+        this.xStrategy = xStrategy;
+        this.oStrategy = oStrategy;
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+        this.seed = seed;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String mode = options.getOrDefault("mode", "in-process");
+        boolean virtual = !"platform".equals(options.getOrDefault("threads", "virtual"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "500"));
+        int boardSize = Integer.parseInt(options.getOrDefault("board", "3"));
+        String[] strategies = options.getOrDefault("strategy", "greedy,random").toUpperCase().split(",");
+        
+        ExecutorService executor = newExecutor(concurrency, virtual);
+        SimulationClient client = switch (mode) {
+            case "in-process" -> new InProcessClient();
+            case "http" -> new HttpSimulationClient(options.getOrDefault("base-url", "http://localhost:8080"));
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+        try (client) {
+            LoadSimulator simulator = new LoadSimulator(client,
+                Integer.parseInt(options.getOrDefault("players", "1000")),
+                Integer.parseInt(options.getOrDefault("games", "10000")),
+                concurrency,
+                MoveStrategy.valueOf(strategies[0]),
+                MoveStrategy.valueOf(strategies[strategies.length - 1]),
+                boardSize,
+                Integer.parseInt(options.getOrDefault("win-length", String.valueOf(boardSize))),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+            System.out.printf("Mode: %s, %s threads, %d sessions%n", mode,
+                executor instanceof ThreadPoolExecutor ? "platform" : "virtual", concurrency);
+            simulator.run(executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    void run(ExecutorService executor) throws InterruptedException {
+        // Register players with the same concurrency as the sessions
+        String[] playerIds = new String[playerCount];
+        AtomicInteger nextPlayer = new AtomicInteger();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        long setupStart = System.nanoTime();
+        runAll(executor, () -> {
+            for (int i = nextPlayer.getAndIncrement(); i < playerCount; i = nextPlayer.getAndIncrement()) {
+                int n = i;
+                playerIds[n] = timed(CREATE_PLAYER, () -> client.createPlayer("Sim " + n, "sim-" + runId + "-" + n + "@example.com"));
+            }
+        });
+        double setupSeconds = (System.nanoTime() - setupStart) / 1e9;
+        
+        // Each session plays games until the total is reached
+        AtomicInteger remaining = new AtomicInteger(gameCount);
+        AtomicInteger sessionSeeds = new AtomicInteger();
+        long start = System.nanoTime();
+        runAll(executor, () -> {
+            Random random = new Random(seed * 31 + sessionSeeds.getAndIncrement());
+            while (remaining.getAndDecrement() > 0) {
+                playGame(playerIds, random);
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        List<SimulationClient.Standing> leaderboard = timed(LEADERBOARD, () -> client.getLeaderboard(10));
+        report(setupSeconds, seconds, leaderboard);
+    }
+    
+    private void playGame(String[] playerIds, Random random) {
+        int first = random.nextInt(playerCount);
+        int second = (first + 1 + random.nextInt(playerCount - 1)) % playerCount;
+        String[] seats = {playerIds[first], playerIds[second]};
+        MoveStrategy[] strategies = {xStrategy, oStrategy};
+        try {
+            String gameId = timed(CREATE_GAME, () -> client.createGame("Simulated", boardSize, boardSize, winLength));
+            for (String playerId : seats) {
+                if (!attempt(JOIN_GAME, () -> client.joinGame(gameId, playerId))) {
+                    abandoned.increment();
+                    return;
+                }
+            }
+            
+            SimulatedBoard board = new SimulatedBoard(boardSize, boardSize, winLength);
+            for (int turn = 0; ; turn = 1 - turn) {
+                int position = strategies[turn].choose(board, turn + 1, random);
+                String playerId = seats[turn];
+                if (!attempt(MAKE_MOVE, () -> client.makeMove(gameId, playerId, position))) {
+                    abandoned.increment();
+                    return;
+                }
+                moves.increment();
+                if (board.place(position, turn + 1)) {
+                    (turn == 0 ? xWins : oWins).increment();
+                    return;
+                }
+                if (board.isFull()) {
+                    draws.increment();
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            abandoned.increment();
+        }
+    }
+    
+    // Time one call under the given endpoint name; failures count as errors
+    private <T> T timed(String endpoint, Supplier<T> call) {
+        LatencyHistogram histogram = latencies.computeIfAbsent(endpoint, e -> new LatencyHistogram());
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            histogram.record(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            histogram.recordError();
+            throw e;
+        }
+    }
+    
+    // Time a call that reports failure by returning false. Only successes are latency
+    // samples; failures, returned or thrown, count as errors only.
+    private boolean attempt(String endpoint, BooleanSupplier call) {
+        LatencyHistogram histogram = latencies.computeIfAbsent(endpoint, e -> new LatencyHistogram());
+        long start = System.nanoTime();
+        boolean succeeded;
+        try {
+            succeeded = call.getAsBoolean();
+        } catch (RuntimeException e) {
+            histogram.recordError();
+            throw e;
+        }
+        if (succeeded) {
+            histogram.record(System.nanoTime() - start);
+        } else {
+            histogram.recordError();
+        }
+        return succeeded;
+    }
+    
+    private void runAll(ExecutorService executor, Runnable session) throws InterruptedException {
+        List<Callable<Void>> sessions = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            sessions.add(() -> {
+                session.run();
+                return null;
+            });
+        }
+        for (Future<Void> result : executor.invokeAll(sessions)) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Session failed", e.getCause());
+            }
+        }
+    }
+    
+    private void report(double setupSeconds, double seconds, List<SimulationClient.Standing> leaderboard) {
+        long games = xWins.sum() + oWins.sum() + draws.sum();
+        System.out.printf("%nRegistered %d players in %.2f s%n", playerCount, setupSeconds);
+        System.out.printf("Played %d games (%d abandoned) and %d moves in %.2f s%n",
+            games, abandoned.sum(), moves.sum(), seconds);
+        System.out.printf("Throughput: %.0f games/s, %.0f moves/s%n", games / seconds, moves.sum() / seconds);
+        System.out.printf("Outcomes: X won %d, O won %d, drawn %d%n%n", xWins.sum(), oWins.sum(), draws.sum());
+        
+        System.out.printf("%-30s %10s %8s %10s %10s %10s %10s%n",
+            "Endpoint", "Requests", "Errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (String endpoint : List.of(CREATE_PLAYER, CREATE_GAME, JOIN_GAME, MAKE_MOVE, LEADERBOARD)) {
+            LatencyHistogram histogram = latencies.get(endpoint);
+            if (histogram == null) {
+                continue;
+            }
+            System.out.printf("%-30s %10d %8d %10.3f %10.3f %10.3f %10.3f%n", endpoint,
+                histogram.getCount(), histogram.getErrors(),
+                histogram.percentileMicros(0.50) / 1000.0, histogram.percentileMicros(0.99) / 1000.0,
+                histogram.percentileMicros(0.999) / 1000.0, histogram.getMaxMicros() / 1000.0);
+        }
+        
+        System.out.printf("%nLeaderboard%n%-4s %-20s %8s %6s %6s %8s%n", "#", "Player", "Played", "Won", "Drawn", "Win rate");
+        int rank = 1;
+        for (SimulationClient.Standing standing : leaderboard) {
+            System.out.printf("%-4d %-20s %8d %6d %6d %7.1f%%%n", rank++, standing.name(),
+                standing.gamesPlayed(), standing.gamesWon(), standing.gamesDrawn(), standing.winRate() * 100);
+        }
+    }
+    
+    // Virtual threads when the runtime has them (Java 21+), otherwise a pool sized to the sessions
+    private static ExecutorService newExecutor(int concurrency, boolean virtual) {
+        if (virtual) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.out.println("Virtual threads need Java 21; using platform threads");
+            }
+        }
+        return Executors.newFixedThreadPool(concurrency);
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
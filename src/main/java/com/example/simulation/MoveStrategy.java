@@ -0,0 +1,54 @@
+package com.example.simulation;
+
+import com.example.model.PerfectPlay;
+
+import java.util.Random;
+
+// How a simulated player picks its next move
+enum MoveStrategy {
+    
+    // Any empty cell
+    RANDOM {
+        @Override
+        int choose(SimulatedBoard board, int side, Random random) {
+            return board.randomEmpty(random);
+        }
+    },
+    
+    // Win if possible, otherwise block the opponent's win, otherwise take the center
+    // (when free) or a random cell
+    GREEDY {
+        @Override
+        int choose(SimulatedBoard board, int side, Random random) {
+            int opponent = 3 - side;
+            int block = -1;
+            for (int i = 0; i < board.freeCount(); i++) {
+                int cell = board.freeCell(i);
+                if (board.completesLine(cell, side)) {
+                    return cell;
+                }
+                if (block < 0 && board.completesLine(cell, opponent)) {
+                    block = cell;
+                }
+            }
+            if (block >= 0) {
+                return block;
+            }
+            int center = board.size() / 2;
+            return board.isEmpty(center) ? center : board.randomEmpty(random);
+        }
+    },
+    
+    // The perfect-play table's move on standard 3x3 boards (never loses); greedy elsewhere
+    PERFECT {
+        @Override
+        int choose(SimulatedBoard board, int side, Random random) {
+            if (!board.isStandard()) {
+                return GREEDY.choose(board, side, random);
+            }
+            return PerfectPlay.bestMove(board.cellsOf(1), board.cellsOf(2));
+        }
+    };
+    
+    abstract int choose(SimulatedBoard board, int side, Random random);
+}
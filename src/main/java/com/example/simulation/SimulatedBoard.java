@@ -0,0 +1,117 @@
+package com.example.simulation;
+
+import com.example.model.PerfectPlay;
+
+import java.util.Random;
+
+/**
+ * The simulator's own copy of a game's board, so strategies can pick moves and sessions
+ * know when a game has ended without asking the server after every move.
+ */
+final class SimulatedBoard {
+    
+    static final int EMPTY = 0;
+    
+    // Directions checked for K in a row: horizontal, vertical, diagonal, anti-diagonal
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    
+    private final int rows;
+    private final int cols;
+    private final int winLength;
+    private final byte[] cells;
+    
+    // Empty cells, kept dense (swap-remove) for O(1) random picks
+    private final int[] free;
+    private final int[] freeIndex;
+    private int freeCount;
+    
+    SimulatedBoard(int rows, int cols, int winLength) {
+        this.rows = rows;
+        this.cols = cols;
+        this.winLength = winLength;
+        this.cells = new byte[rows * cols];
+        this.free = new int[cells.length];
+        this.freeIndex = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            free[i] = i;
+            freeIndex[i] = i;
+        }
+        this.freeCount = cells.length;
+    }
+    
+    int size() {
+        return cells.length;
+    }
+    
+    boolean isEmpty(int position) {
+        return cells[position] == EMPTY;
+    }
+    
+    int freeCount() {
+        return freeCount;
+    }
+    
+    int freeCell(int i) {
+        return free[i];
+    }
+    
+    int randomEmpty(Random random) {
+        return free[random.nextInt(freeCount)];
+    }
+    
+    // Place a mark for side 1 (X) or 2 (O); returns true if it wins the game
+    boolean place(int position, int side) {
+        cells[position] = (byte) side;
+        int last = free[--freeCount];
+        int slot = freeIndex[position];
+        free[slot] = last;
+        freeIndex[last] = slot;
+        return completesLine(position, side);
+    }
+    
+    // Cells holding side's mark as a bit mask (bit i = cell i); boards of up to 32 cells
+    int cellsOf(int side) {
+        int mask = 0;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == side) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+    
+    // Whether the perfect-play table covers this board
+    boolean isStandard() {
+        return PerfectPlay.supports(rows, cols, winLength);
+    }
+    
+    boolean isFull() {
+        return freeCount == 0;
+    }
+    
+    // Whether placing side's mark at an empty position would complete K in a row
+    boolean completesLine(int position, int side) {
+        int row = position / cols;
+        int col = position % cols;
+        for (int[] direction : DIRECTIONS) {
+            int run = 1 + count(row, col, direction[0], direction[1], side)
+                + count(row, col, -direction[0], -direction[1], side);
+            if (run >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private int count(int row, int col, int dRow, int dCol, int side) {
+        int run = 0;
+        int r = row + dRow;
+        int c = col + dCol;
+        while (run < winLength && r >= 0 && r < rows && c >= 0 && c < cols && cells[r * cols + c] == side) {
+            run++;
+            r += dRow;
+            c += dCol;
+        }
+        return run;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.simulation;
+
+import java.util.List;
+
+// The API calls a simulated session makes, either in-process or over HTTP
+interface SimulationClient extends AutoCloseable {
+    
+    String createPlayer(String name, String email);
+    
+    String createGame(String name, int rows, int cols, int winLength);
+    
+    boolean joinGame(String gameId, String playerId);
+    
+    boolean makeMove(String gameId, String playerId, int position);
+    
+    List<Standing> getLeaderboard(int limit);
+    
+    @Override
+    default void close() {
+    }
+    
+    record Standing(String name, int gamesPlayed, int gamesWon, int gamesDrawn, double winRate) {
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits the API per caller, so one misbehaving client cannot starve the others.
+ *
+ * Every {@code /api} request takes a token from its route's bucket for the client IP and,
+ * when the request names a player in the {@value #PLAYER_HEADER} header, from that
+ * player's bucket too. Moves and the leaderboards have their own, tighter limits; an IP
+ * gets {@code players-per-ip} times the player limit, since several players may share one
+ * address. A refused request gets 429 with a Retry-After header and never reaches the
+ * controllers.
+ *
+ * Moves and batches are charged from their body instead: the filter reads it once and
+ * replays it to the controller. Each move or join in a batch costs one token, so a batch
+ * is limited like the same number of single requests, and each one is charged to the
+ * player named in it rather than to the header. For every other route the header is
+ * voluntary and the player limit advisory; only the IP limit binds a client that omits it.
+ *
+ * The player ID is not authenticated, so a player's bucket is keyed by IP and player ID
+ * together: a caller naming someone else's player ID only spends tokens at its own
+ * address and cannot drain the victim's bucket. The IP bucket is charged first and the
+ * player bucket only when the IP allows the request, so a request refused by its IP
+ * spends no player token, and varying the header cannot mint buckets faster than the
+ * IP limit.
+ *
+ * The client IP is {@code getRemoteAddr()}; behind a proxy, set
+ * {@code server.forward-headers-strategy} so it is the real client's.
+ */
+@Component
+@ConditionalOnProperty(name = "game.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    public static final String PLAYER_HEADER = "X-Player-Id";
+    
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+    
+    private static final JsonFactory JSON = new JsonFactory();
+    
+    private final Route moves;
+    private final Route leaderboard;
+    private final Route general;
+    private final long idleNanos;
+    
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "rate-limit-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${game.rate-limit.moves.capacity:20}") int movesCapacity,
+                           @Value("${game.rate-limit.moves.per-second:10}") double movesPerSecond,
+                           @Value("${game.rate-limit.leaderboard.capacity:10}") int leaderboardCapacity,
+                           @Value("${game.rate-limit.leaderboard.per-second:2}") double leaderboardPerSecond,
+                           @Value("${game.rate-limit.default.capacity:100}") int defaultCapacity,
+                           @Value("${game.rate-limit.default.per-second:50}") double defaultPerSecond,
+                           @Value("${game.rate-limit.players-per-ip:4}") int playersPerIp,
+                           @Value("${game.rate-limit.idle-ms:300000}") long idleMs) {
+        if (playersPerIp <= 0 || idleMs <= 0) {
+            throw new IllegalArgumentException("Players per IP and idle time must be positive");
+        }
+        this.moves = new Route("moves", movesCapacity, movesPerSecond, playersPerIp, meterRegistry);
+        this.leaderboard = new Route("leaderboard", leaderboardCapacity, leaderboardPerSecond, playersPerIp,
+            meterRegistry);
+        this.general = new Route("default", defaultCapacity, defaultPerSecond, playersPerIp, meterRegistry);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMs);
+        sweeper.scheduleWithFixedDelay(this::evictIdle, idleMs, idleMs, TimeUnit.MILLISECONDS);
+        Gauge.builder("ratelimit.buckets", this, filter -> filter.routes().stream().mapToInt(Route::size).sum())
+            .description("Rate limit buckets held in memory")
+            .register(meterRegistry);
+    }
+    
+    // Called by both Spring and the servlet container; stopping twice is harmless
+    @Override
+    public void destroy() {
+        sweeper.shutdownNow();
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+        Route route = routeOf(method, uri);
+        long now = System.nanoTime();
+        String ip = request.getRemoteAddr();
+        long wait;
+        if (isChargedByBody(method, uri)) {
+            BufferedBodyRequest buffered = new BufferedBodyRequest(request);
+            wait = charge(route, ip, playersOf(buffered.body), now);
+            request = buffered;
+        } else {
+            wait = route.byIp.tryAcquire(ip, now);
+            String playerId = request.getHeader(PLAYER_HEADER);
+            if (wait == 0 && playerId != null && !playerId.isEmpty()) {
+                wait = route.byPlayer.tryAcquire(ip + ' ' + playerId, now);
+            }
+        }
+        if (wait > 0) {
+            route.rejected.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, divideRoundingUp(wait))));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+    
+    // Drop buckets that have been full for the idle period; returns how many
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Route route : routes()) {
+            evicted += route.byIp.evictIdle(now, idleNanos) + route.byPlayer.evictIdle(now, idleNanos);
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+        return evicted;
+    }
+    
+    // Routes are told apart by a few string checks rather than pattern matching
+    private Route routeOf(String method, String uri) {
+        if ("POST".equals(method) && uri.startsWith("/api/games/")
+                && (uri.endsWith("/moves") || uri.endsWith("/moves/batch"))) {
+            return moves;
+        }
+        if ("GET".equals(method) && (uri.equals("/api/players/leaderboard")
+                || uri.equals("/api/players/most-active") || uri.equals("/api/players/most-efficient"))) {
+            return leaderboard;
+        }
+        return general;
+    }
+    
+    // Moves and batches, whose body says how many items they carry and for which players
+    private static boolean isChargedByBody(String method, String uri) {
+        return "POST".equals(method) && uri.startsWith("/api/games/")
+            && (uri.endsWith("/moves") || uri.endsWith("/moves/batch") || uri.endsWith("/players/batch"));
+    }
+    
+    // One token per item from the IP, then from each named player as many as they have
+    // items. Returns 0 if allowed, otherwise nanoseconds until the refusing bucket refills.
+    private static long charge(Route route, String ip, List<String> players, long now) {
+        long wait = route.byIp.tryAcquire(ip, now, Math.max(1, players.size()));
+        if (wait > 0) {
+            return wait;
+        }
+        Map<String, Integer> items = new HashMap<>();
+        for (String playerId : players) {
+            if (playerId != null && !playerId.isEmpty()) {
+                items.merge(playerId, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<String, Integer> entry : items.entrySet()) {
+            wait = route.byPlayer.tryAcquire(ip + ' ' + entry.getKey(), now, entry.getValue());
+            if (wait > 0) {
+                return wait;
+            }
+        }
+        return 0;
+    }
+    
+    // The player named by each item of a body: the body itself for a single move, or each
+    // element of its array for a batch, null where an item names none. Empty if the body
+    // is not valid JSON, which the controller rejects anyway.
+    private static List<String> playersOf(byte[] body) {
+        List<String> players = new ArrayList<>();
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return List.of();
+            }
+            String single = null;
+            boolean batch = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_ARRAY) {
+                    batch = true;
+                    for (JsonToken item = parser.nextToken(); item != JsonToken.END_ARRAY; item = parser.nextToken()) {
+                        if (item == null) {
+                            return List.of();
+                        }
+                        players.add(item == JsonToken.START_OBJECT ? playerIdOf(parser) : null);
+                        parser.skipChildren();
+                    }
+                } else if (value == JsonToken.VALUE_STRING && "playerId".equals(field)) {
+                    single = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!batch) {
+                players.add(single);
+            }
+        } catch (IOException e) {
+            return List.of();
+        }
+        return players;
+    }
+    
+    // Reads one object's fields, leaving the parser on its END_OBJECT
+    private static String playerIdOf(JsonParser parser) throws IOException {
+        String playerId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.VALUE_STRING && "playerId".equals(field)) {
+                playerId = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return playerId;
+    }
+    
+    private List<Route> routes() {
+        return List.of(moves, leaderboard, general);
+    }
+    
+    private static long divideRoundingUp(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+    
+    // A request whose body has been read up front and is served again from memory
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        
+        final byte[] body;
+        
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Body is already buffered");
+                }
+                
+                @Override
+                public int read() {
+                    return in.read();
+                }
+                
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+    
+    private static final class Route {
+        
+        final TokenBuckets byPlayer;
+        final TokenBuckets byIp;
+        final Counter rejected;
+        
+        Route(String name, int capacity, double perSecond, int playersPerIp, MeterRegistry meterRegistry) {
+            this.byPlayer = new TokenBuckets(capacity, perSecond);
+            this.byIp = new TokenBuckets(capacity * playersPerIp, perSecond * playersPerIp);
+            this.rejected = Counter.builder("ratelimit.rejected")
+                .description("Requests refused with 429")
+                .tag("route", name)
+                .register(meterRegistry);
+        }
+        
+        int size() {
+            return byPlayer.size() + byIp.size();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.web;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous request log: request threads drop an entry into a fixed ring buffer and
+ * return; one background thread formats the entries and hands the lines to a sink (the
+ * application logger in production).
+ *
+ * The ring's entries are allocated once and reused, and a request thread only claims a
+ * slot with a compare-and-set and copies in references and numbers: it never formats,
+ * allocates, takes a lock or waits for I/O. When the writer falls a whole ring behind,
+ * new entries are dropped and counted rather than blocking requests. The writer polls,
+ * so producers never have to wake it: it parks 1 ms when it finds nothing, doubling up
+ * to 50 ms while idle. An idle log costs about 20 wake-ups a second; a burst after an
+ * idle spell waits at most 50 ms to be written, which the default 8192-entry ring
+ * absorbs at up to about 160,000 requests a second.
+ */
+public final class RequestLog implements AutoCloseable {
+    
+    private static final long MIN_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    
+    // Path segments under /api/games and /api/players that are routes, not IDs
+    private static final Set<String> GAME_ROUTES = Set.of("active", "waiting", "completed", "count", "moves",
+        "players", "player");
+    private static final Set<String> PLAYER_ROUTES = Set.of("leaderboard", "most-active", "most-efficient", "count");
+    
+    private final Entry[] entries;
+    private final int mask;
+    private final Consumer<String> sink;
+    
+    // Next sequence to claim, and the first sequence the writer has not finished with
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    
+    private final Thread writer;
+    private volatile boolean running = true;
+    
+    // capacity is rounded up to a power of two
+    public RequestLog(int capacity, Consumer<String> sink) {
+        if (capacity <= 0 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("Request log capacity must be between 1 and " + (1 << 24));
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.entries = new Entry[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = new Entry(i - size); // Not yet published for sequence i
+        }
+        this.mask = size - 1;
+        this.sink = sink;
+        this.writer = new Thread(this::drain, "request-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    // Queue a finished request; false if the buffer was full and the entry was dropped
+    public boolean record(String method, String uri, String playerId, int status, long latencyNanos) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= entries.length) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        Entry entry = entries[(int) sequence & mask];
+        entry.method = method;
+        entry.uri = uri;
+        entry.playerId = playerId;
+        entry.status = status;
+        entry.latencyNanos = latencyNanos;
+        entry.published = sequence; // Volatile write: the fields above are visible to the writer
+        return true;
+    }
+    
+    public long getDropped() {
+        return dropped.get();
+    }
+    
+    public int getCapacity() {
+        return entries.length;
+    }
+    
+    // Stop after writing what is already queued (waiting up to 5 seconds for the writer)
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void drain() {
+        StringBuilder line = new StringBuilder(160);
+        long next = 0;
+        long idlePark = MIN_IDLE_PARK_NANOS;
+        while (true) {
+            Entry entry = entries[(int) next & mask];
+            if (entry.published != next) {
+                if (!running && next == claimed.get()) {
+                    return;
+                }
+                LockSupport.parkNanos(idlePark);
+                idlePark = Math.min(idlePark * 2, MAX_IDLE_PARK_NANOS);
+                continue;
+            }
+            idlePark = MIN_IDLE_PARK_NANOS;
+            line.setLength(0);
+            format(entry, line);
+            entry.clear();
+            consumed.set(++next); // The slot may now be reused
+            try {
+                sink.accept(line.toString());
+            } catch (RuntimeException e) {
+                // A failing sink loses that line but must not stop the writer
+            }
+        }
+    }
+    
+    // e.g. "POST /api/games/42/moves 200 1.25ms game=42 player=7"
+    static void format(Entry entry, StringBuilder line) {
+        line.append(entry.method).append(' ').append(entry.uri).append(' ').append(entry.status).append(' ');
+        long micros = TimeUnit.NANOSECONDS.toMicros(entry.latencyNanos);
+        line.append(micros / 1000).append('.');
+        long fraction = micros % 1000 / 10;
+        if (fraction < 10) {
+            line.append('0');
+        }
+        line.append(fraction).append("ms");
+        String gameId = segmentAfter(entry.uri, "/api/games/");
+        if (gameId != null && !GAME_ROUTES.contains(gameId)) {
+            line.append(" game=").append(gameId);
+        }
+        String playerId = playerIdOf(entry);
+        if (playerId != null) {
+            line.append(" player=").append(playerId);
+        }
+    }
+    
+    // The X-Player-Id header, or the player named in the path
+    private static String playerIdOf(Entry entry) {
+        if (entry.playerId != null) {
+            return entry.playerId;
+        }
+        String id = segmentAfter(entry.uri, "/api/games/player/");
+        if (id == null) {
+            id = segmentAfter(entry.uri, "/api/players/");
+            if (id != null && PLAYER_ROUTES.contains(id)) {
+                id = null;
+            }
+        }
+        return id != null ? id : segmentAfter(entry.uri, "/api/matchmaking/");
+    }
+    
+    // The path segment right after prefix, or null
+    private static String segmentAfter(String uri, String prefix) {
+        if (!uri.startsWith(prefix)) {
+            return null;
+        }
+        int end = uri.indexOf('/', prefix.length());
+        String segment = end < 0 ? uri.substring(prefix.length()) : uri.substring(prefix.length(), end);
+        return segment.isEmpty() ? null : segment;
+    }
+    
+    static final class Entry {
+        
+        volatile long published;
+        String method;
+        String uri;
+        String playerId;
+        int status;
+        long latencyNanos;
+        
+        Entry(long published) {
+            this.published = published;
+        }
+        
+        void clear() {
+            method = null;
+            uri = null;
+            playerId = null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.web;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs every {@code /api} request (method, path, status, latency and the game and player
+ * involved) to the {@code com.example.web.RequestLog} logger through a {@link RequestLog}
+ * ring buffer, so the request thread never formats or writes a log line.
+ *
+ * The polled read routes ({@code GET .../status} and {@code .../board}) are sampled:
+ * only a fraction of successful calls is logged, errors always are. It runs ahead of the
+ * rate limiter so refused requests are logged too. Streaming responses (NDJSON, events)
+ * are logged when the stream starts.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "game.request-log.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLogFilter extends OncePerRequestFilter {
+    
+    private static final Logger requests = LoggerFactory.getLogger(RequestLog.class);
+    
+    private final RequestLog requestLog;
+    private final double hotRouteSampleRate;
+    
+    public RequestLogFilter(MeterRegistry meterRegistry,
+                            @Value("${game.request-log.buffer-size:8192}") int bufferSize,
+                            @Value("${game.request-log.hot-route-sample-rate:0.01}") double hotRouteSampleRate) {
+        if (hotRouteSampleRate < 0 || hotRouteSampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        this.requestLog = new RequestLog(bufferSize, requests::info);
+        this.hotRouteSampleRate = hotRouteSampleRate;
+        FunctionCounter.builder("requestlog.dropped", requestLog, RequestLog::getDropped)
+            .description("Request log lines dropped because the buffer was full")
+            .register(meterRegistry);
+    }
+    
+    // Called by both Spring and the servlet container; closing twice is harmless
+    @Override
+    public void destroy() {
+        requestLog.close();
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR; // Unless the chain returns
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            String uri = request.getRequestURI();
+            if (status >= 400 || !isHotRoute(request.getMethod(), uri)
+                    || ThreadLocalRandom.current().nextDouble() < hotRouteSampleRate) {
+                requestLog.record(request.getMethod(), uri, request.getHeader(RateLimitFilter.PLAYER_HEADER),
+                    status, System.nanoTime() - started);
+            }
+        }
+    }
+    
+    private static boolean isHotRoute(String method, String uri) {
+        return "GET".equals(method) && (uri.endsWith("/status") || uri.endsWith("/board"));
+    }
+}
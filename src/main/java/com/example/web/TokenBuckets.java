@@ -0,0 +1,89 @@
+package com.example.web;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by caller (player ID or client IP): each key may spend up to
+ * {@code capacity} requests at once and regains {@code perSecond} per second.
+ *
+ * A bucket is a single {@code AtomicLong} holding the time at which it will be full again
+ * (the "theoretical arrival time" form of a token bucket): a request moves that time one
+ * token interval forward with a compare-and-set, and is refused if that would put it more
+ * than {@code capacity} intervals ahead of now. So an allowed request costs a map lookup
+ * and one CAS, with no lock, no allocation once the key is known, and no refill
+ * bookkeeping.
+ *
+ * A request may cost several tokens ({@link #tryAcquire(String, long, int)}); it moves the
+ * time forward by that many intervals, so a batch is charged like the same number of
+ * single requests.
+ *
+ * A bucket whose full-again time has passed is indistinguishable from a new one, so
+ * {@link #evictIdle} can drop it without changing any decision; memory is bounded by the
+ * keys active within the idle period rather than by every key ever seen.
+ */
+public final class TokenBuckets {
+    
+    private final int capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    
+    // Key -> time (System.nanoTime) at which the bucket is full again
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    
+    public TokenBuckets(int capacity, double perSecond) {
+        if (capacity <= 0 || !(perSecond > 0)) {
+            throw new IllegalArgumentException("Rate limit capacity and rate must be positive");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / perSecond));
+        this.burstNanos = intervalNanos * capacity;
+    }
+    
+    // Take a token for key at time now (System.nanoTime). Returns 0 if allowed, otherwise
+    // how many nanoseconds until a token is available.
+    public long tryAcquire(String key, long now) {
+        return tryAcquire(key, now, 1);
+    }
+    
+    // Take cost tokens for key at time now, e.g. one per item of a batch. Allowed whenever
+    // a token is left, with the rest borrowed: a cost above the capacity still passes, and
+    // the key then waits until the whole cost has been regained. Returns 0 if allowed,
+    // otherwise how many nanoseconds until a token is available.
+    public long tryAcquire(String key, long now, int cost) {
+        if (cost <= 0) {
+            throw new IllegalArgumentException("Cost must be positive");
+        }
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long start = Math.max(fullAt, now);
+            long wait = start + intervalNanos - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, start + intervalNanos * cost)) {
+                return 0;
+            }
+        }
+    }
+    
+    // Drop buckets that have been full for at least idleNanos; returns how many
+    public int evictIdle(long now, long idleNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> now - bucket.get() >= idleNanos);
+        return Math.max(0, before - buckets.size());
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public int size() {
+        return buckets.size();
+    }
+}
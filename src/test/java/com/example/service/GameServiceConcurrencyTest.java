@@ -0,0 +1,147 @@
+package com.example.service;
+
+import com.example.model.Game;
+import com.example.model.Move;
+import com.example.model.Player;
+import com.example.model.PlayerStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads joining and moving in the same games at once. Every thread picks games
+ * and players at random, so joins race for the last seat and moves race for the same
+ * turn and cell; afterwards every game and every player's stats must be consistent.
+ */
+class GameServiceConcurrencyTest {
+    
+    private static final int THREADS = 16;
+    private static final int PLAYERS = 12;
+    private static final int GAMES = 200;
+    private static final int OPERATIONS_PER_THREAD = 20_000;
+    
+    @Test
+    void concurrentJoinsAndMovesKeepGamesAndStatsConsistent() throws Exception {
+        PlayerService playerService = new PlayerService();
+        GameService gameService = new GameService(playerService);
+        
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(playerService.createPlayer("Player " + i, "player" + i + "@example.com"));
+        }
+        List<String> gameIds = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++) {
+            gameIds.add(gameService.createGame("Game " + i).getId());
+        }
+        
+        // Successful joins per game, counted independently of the game's own seat list
+        Map<String, AtomicLong> joins = new ConcurrentHashMap<>();
+        gameIds.forEach(id -> joins.put(id, new AtomicLong()));
+        
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int op = 0; op < OPERATIONS_PER_THREAD; op++) {
+                    String gameId = gameIds.get(random.nextInt(GAMES));
+                    try {
+                        if (random.nextInt(4) == 0) {
+                            Player player = players.get(random.nextInt(PLAYERS));
+                            if (gameService.addPlayerToGame(gameId, player)) {
+                                joins.get(gameId).incrementAndGet();
+                            }
+                        } else {
+                            List<Player> seats = gameService.findById(gameId).orElseThrow().getPlayers();
+                            if (seats.size() == 2) {
+                                String playerId = seats.get(random.nextInt(2)).getId();
+                                gameService.makeMove(gameId, playerId, random.nextInt(9));
+                            }
+                        }
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        // Lost a race for a seat, a turn or a cell: expected under contention
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        
+        int finished = 0;
+        int won = 0;
+        int drawn = 0;
+        long moves = 0;
+        for (String gameId : gameIds) {
+            Game game = gameService.findById(gameId).orElseThrow();
+            
+            // Exactly two distinct seats, each taken by exactly one successful join
+            assertThat(game.getPlayers()).hasSize(2).doesNotHaveDuplicates();
+            assertThat(joins.get(gameId).get()).isEqualTo(2);
+            
+            // The board is exactly what the move log says, with the sides alternating
+            String[] replayed = new String[9];
+            List<Move> log = game.getMoves();
+            for (int i = 0; i < log.size(); i++) {
+                Move move = log.get(i);
+                Player expected = game.getPlayers().get(i % 2);
+                assertThat(move.getPlayer()).isEqualTo(expected);
+                assertThat(move.getSymbol()).isEqualTo(i % 2 == 0 ? "X" : "O");
+                assertThat(replayed[move.getPosition()]).isNull();
+                replayed[move.getPosition()] = move.getSymbol();
+            }
+            assertThat(game.getBoard()).containsExactly(replayed);
+            moves += log.size();
+            
+            if (game.getStatus() == Game.GameStatus.COMPLETED) {
+                finished++;
+                won++;
+                assertThat(game.getWinner()).isEqualTo(log.get(log.size() - 1).getPlayer());
+            } else if (game.getStatus() == Game.GameStatus.DRAW) {
+                finished++;
+                drawn++;
+                assertThat(log).hasSize(9);
+            } else {
+                assertThat(game.getStatus()).isEqualTo(Game.GameStatus.ACTIVE);
+            }
+        }
+        assertThat(finished).isPositive();
+        
+        // Each finished game counts once for each of its two players
+        long played = 0;
+        long wins = 0;
+        long losses = 0;
+        long draws = 0;
+        long moveTotal = 0;
+        for (Player player : players) {
+            PlayerStats stats = playerService.getPlayerStats(player.getId());
+            played += stats.getGamesPlayed();
+            wins += stats.getGamesWon();
+            losses += stats.getGamesLost();
+            draws += stats.getGamesDrawn();
+            moveTotal += stats.getTotalMoves();
+        }
+        assertThat(played).isEqualTo(2L * finished);
+        assertThat(wins).isEqualTo(won);
+        assertThat(losses).isEqualTo(won);
+        assertThat(draws).isEqualTo(2L * drawn);
+        assertThat(moveTotal).isEqualTo(moves);
+    }
+}